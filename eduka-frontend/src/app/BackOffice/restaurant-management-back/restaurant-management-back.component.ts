@@ -150,7 +150,7 @@ export class RestaurantManagementBackComponent implements OnInit {
     
     this.orderService.getOrderWithItems(order.id).subscribe({
       next: (fullOrder) => {
-        const itemsList = fullOrder.items?.map(item => `- ${item.name} ($${item.price})`).join('\n') || 'No items';
+        const itemsList = fullOrder.items?.map(item => `- ${item.quantity} x ${item.name} ($${item.unitPrice})`).join('\n') || 'No items';
         alert(`Order Details:\nID: ${fullOrder.id}\nUser: ${fullOrder.userId}\nRestaurant: ${this.getRestaurantName(fullOrder.restaurant?.id)}\nItems:\n${itemsList}\nTotal: $${fullOrder.totalAmount?.toFixed(2)}\nStatus: ${fullOrder.status}`);
       },
       error: (error) => {
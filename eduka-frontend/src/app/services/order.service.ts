@@ -7,7 +7,7 @@ export interface Order {
   id?: number;
   userId: number;
   restaurant?: any;
-  items?: MenuItem[];
+  items?: OrderLine[];
   menuItemIds?: number[];
   orderDate?: Date;
   totalAmount?: number;
@@ -19,6 +19,15 @@ export interface Order {
   completedAt?: Date;
 }
 
+export interface OrderLine {
+  id?: number;
+  menuItemId: number;
+  name: string;
+  unitPrice: number;
+  quantity: number;
+  lineTotal?: number;
+}
+
 export interface MenuItem {
   id?: number;
   name: string;
@@ -14,7 +14,8 @@ import java.util.List;
 @AllArgsConstructor
 public class AcademicProgram {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "academic_program_seq")
+    @SequenceGenerator(name = "academic_program_seq", sequenceName = "academic_program_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -13,7 +13,8 @@ import java.util.Date;
 @AllArgsConstructor
 public class SystemAudit {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "system_audit_seq")
+    @SequenceGenerator(name = "system_audit_seq", sequenceName = "system_audit_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -0,0 +1,64 @@
+package com.eduka.adminmanagement.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Records the SQL issued by one Spring Data repository method call
+ * (sql.repository.statements / rows / time, tagged by repository and method).
+ * Only the outermost repository call is measured, so a custom fragment calling other repositories counts once.
+ */
+class RepositorySqlInterceptor implements MethodInterceptor {
+
+    private final String repository;
+    private final ObjectProvider<MeterRegistry> registry;
+
+    RepositorySqlInterceptor(String repository, ObjectProvider<MeterRegistry> registry) {
+        this.repository = repository;
+        this.registry = registry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (SqlStatistics.isOpen(SqlScope.Kind.REPOSITORY)) {
+            return invocation.proceed();
+        }
+        String method = invocation.getMethod().getName();
+        SqlScope scope = SqlStatistics.open(SqlScope.Kind.REPOSITORY);
+        try {
+            return invocation.proceed();
+        } finally {
+            scope.close();
+            // Streams and lazy results may run their SQL after the call returns; only the call itself is attributed
+            if (scope.getStatements() > 0) {
+                record(method, scope);
+            }
+        }
+    }
+
+    private void record(String method, SqlScope scope) {
+        MeterRegistry meterRegistry = registry.getIfAvailable();
+        if (meterRegistry == null) {
+            return;
+        }
+        DistributionSummary.builder("sql.repository.statements")
+            .description("JDBC statements executed per repository call")
+            .tags("repository", repository, "method", method)
+            .register(meterRegistry)
+            .record(scope.getStatements());
+        DistributionSummary.builder("sql.repository.rows")
+            .description("Rows read or written per repository call")
+            .tags("repository", repository, "method", method)
+            .register(meterRegistry)
+            .record(scope.getRows());
+        Timer.builder("sql.repository.time")
+            .description("Time spent executing SQL per repository call")
+            .tags("repository", repository, "method", method)
+            .register(meterRegistry)
+            .record(scope.getTime());
+    }
+}
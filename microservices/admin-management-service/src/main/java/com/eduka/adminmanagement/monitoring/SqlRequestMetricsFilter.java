@@ -0,0 +1,77 @@
+package com.eduka.adminmanagement.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Records the SQL each HTTP request issued, tagged by method and URI template
+ * (sql.request.statements / rows / time). A statement repeated repeatedStatementThreshold times or more
+ * in one request is logged and counted as a likely N+1 (sql.request.repeated).
+ * Work handed to other threads is not attributed to the request.
+ */
+@Slf4j
+public class SqlRequestMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry registry;
+    private final int repeatedStatementThreshold;
+
+    public SqlRequestMetricsFilter(MeterRegistry registry, int repeatedStatementThreshold) {
+        this.registry = registry;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlScope scope = SqlStatistics.open(SqlScope.Kind.REQUEST);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            scope.close();
+            record(request, scope);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlScope scope) {
+        if (scope.getStatements() == 0) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("sql.request.statements")
+            .description("JDBC statements executed per HTTP request")
+            .tags("method", method, "uri", uri)
+            .register(registry)
+            .record(scope.getStatements());
+        DistributionSummary.builder("sql.request.rows")
+            .description("Rows read or written per HTTP request")
+            .tags("method", method, "uri", uri)
+            .register(registry)
+            .record(scope.getRows());
+        Timer.builder("sql.request.time")
+            .description("Time spent executing SQL per HTTP request")
+            .tags("method", method, "uri", uri)
+            .register(registry)
+            .record(scope.getTime());
+
+        Map.Entry<String, Integer> repeated = scope.getMostRepeated();
+        if (repeated != null && repeated.getValue() >= repeatedStatementThreshold) {
+            registry.counter("sql.request.repeated", "method", method, "uri", uri).increment();
+            log.warn("⚠️ Possible N+1 in {} {}: statement executed {} times ({} statements total): {}",
+                method, uri, repeated.getValue(), scope.getStatements(), repeated.getKey());
+        }
+    }
+}
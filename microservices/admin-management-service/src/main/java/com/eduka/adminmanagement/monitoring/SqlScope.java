@@ -0,0 +1,66 @@
+package com.eduka.adminmanagement.monitoring;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL executed while the scope was open on its thread: statement count, rows read or written,
+ * time spent in JDBC and how often each distinct statement ran (the N+1 signal).
+ * Not thread-safe; a scope belongs to the thread that opened it.
+ */
+public final class SqlScope implements AutoCloseable {
+
+    public enum Kind { REQUEST, REPOSITORY }
+
+    private final Kind kind;
+    private final Map<String, Integer> executions = new HashMap<>();
+    private int statements;
+    private long rows;
+    private long nanos;
+
+    SqlScope(Kind kind) {
+        this.kind = kind;
+    }
+
+    void statement(String sql, long elapsedNanos, long affectedRows) {
+        statements++;
+        nanos += elapsedNanos;
+        rows += Math.max(affectedRows, 0);
+        if (sql != null) {
+            executions.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void rows(long count) {
+        rows += count;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public Duration getTime() {
+        return Duration.ofNanos(nanos);
+    }
+
+    /**
+     * The statement executed most often, or null if nothing ran.
+     */
+    public Map.Entry<String, Integer> getMostRepeated() {
+        return executions.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+    }
+
+    @Override
+    public void close() {
+        SqlStatistics.close(this);
+    }
+}
@@ -0,0 +1,43 @@
+package com.ski.eduka.config;
+
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Topologie RabbitMQ des notifications logement (HousingEventPublisher).
+ * Les noms doivent rester ceux déclarés par notification-service.
+ */
+@Configuration
+public class RabbitMQConfig {
+
+    // Exchange
+    public static final String NOTIFICATION_EXCHANGE = "notification.exchange";
+
+    // Queue / routing key
+    public static final String HOUSING_NOTIFICATION_QUEUE = "housing.notification.queue";
+    public static final String HOUSING_ROUTING_KEY = "notification.housing";
+
+    // Déclarations idempotentes (mêmes arguments que notification-service) : les événements
+    // publiés avant le démarrage de notification-service ne sont pas perdus
+    @Bean
+    public TopicExchange notificationExchange() {
+        return new TopicExchange(NOTIFICATION_EXCHANGE);
+    }
+
+    @Bean
+    public Queue housingNotificationQueue() {
+        return new Queue(HOUSING_NOTIFICATION_QUEUE, true);
+    }
+
+    @Bean
+    public Binding housingBinding() {
+        return BindingBuilder
+            .bind(housingNotificationQueue())
+            .to(notificationExchange())
+            .with(HOUSING_ROUTING_KEY);
+    }
+}
@@ -0,0 +1,78 @@
+package com.ski.eduka.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Mesure du retard du réplica par heartbeat.
+ * Chaque passage horodate replica_heartbeat sur la primaire puis relit l'horodatage sur le réplica ;
+ * l'écart est le retard de réplication (à l'intervalle de vérification près). Au-delà de max-lag, ou si
+ * le réplica ne répond pas, les transactions readOnly passent par la primaire jusqu'au rattrapage.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final ReplicaRoutingDataSource routing;
+    private final Duration maxLag;
+    private final Clock clock;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, ReplicaRoutingDataSource routing, Duration maxLag, Clock clock) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.routing = routing;
+        this.maxLag = maxLag;
+        this.clock = clock;
+        this.primary.execute("CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_at TIMESTAMP NOT NULL)");
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.check-interval-ms:1000}")
+    public void check() {
+        Instant now = clock.instant();
+        boolean available;
+        try {
+            beat(now);
+            Timestamp replicated = replica.queryForObject("SELECT beat_at FROM replica_heartbeat WHERE id = 1", Timestamp.class);
+            Duration lag = Duration.between(replicated.toInstant(), now);
+            lagSeconds = Math.max(0, lag.toMillis()) / 1000.0;
+            available = lag.compareTo(maxLag) <= 0;
+        } catch (DataAccessException e) {
+            // Réplica injoignable, ou heartbeat pas encore répliqué
+            lagSeconds = Double.NaN;
+            available = false;
+        }
+        if (available != routing.isReplicaAvailable()) {
+            if (available) {
+                log.info("📗 Réplica à jour (retard {} s), lectures readOnly routées vers le réplica", lagSeconds);
+            } else {
+                log.warn("📕 Réplica indisponible ou en retard (retard {} s, max {} ms), lectures sur la primaire",
+                    lagSeconds, maxLag.toMillis());
+            }
+            routing.setReplicaAvailable(available);
+        }
+    }
+
+    private void beat(Instant now) {
+        Timestamp beat = Timestamp.from(now);
+        if (primary.update("UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1", beat) == 0) {
+            primary.update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)", beat);
+        }
+    }
+
+    /**
+     * Dernier retard mesuré en secondes, NaN si le réplica n'a pas pu être lu.
+     */
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+}
@@ -0,0 +1,56 @@
+package com.ski.eduka.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Envoie les transactions readOnly vers le réplica et tout le reste vers la base primaire.
+ * À envelopper dans un LazyConnectionDataSourceProxy : la connexion est demandée avant que le flag
+ * readOnly soit positionné, le proxy retarde le choix jusqu'à la première requête.
+ * Si {@link ReplicaLagMonitor} juge le réplica indisponible ou trop en retard, les lectures restent sur la primaire.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    // Inconnu tant que la première vérification du retard n'a pas réussi
+    private volatile boolean replicaAvailable = false;
+    private final AtomicLong fallbackReads = new AtomicLong();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Target.PRIMARY;
+        }
+        if (replicaAvailable) {
+            return Target.REPLICA;
+        }
+        fallbackReads.incrementAndGet();
+        return Target.PRIMARY;
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+
+    public void setReplicaAvailable(boolean replicaAvailable) {
+        this.replicaAvailable = replicaAvailable;
+    }
+
+    /**
+     * Connexions readOnly servies par la primaire faute de réplica disponible.
+     */
+    public long getFallbackReads() {
+        return fallbackReads.get();
+    }
+}
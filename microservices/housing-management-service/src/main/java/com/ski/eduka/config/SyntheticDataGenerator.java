@@ -0,0 +1,129 @@
+package com.ski.eduka.config;
+
+import com.ski.eduka.enums.ChambreType;
+import com.ski.eduka.repository.FoyerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Jeu de données synthétique pour les tests de charge : foyers, chambres et occupants insérés par lots JDBC.
+ * Même graine => mêmes lignes. Ne s'exécute que sur une base vide (seed.synthetic.enabled=true).
+ */
+@Component
+@ConditionalOnProperty(name = "seed.synthetic.enabled", havingValue = "true")
+@Slf4j
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final int ALLOCATION = 50;
+    private static final String[] VILLES = {"Tunis", "Ariana", "Sousse", "Sfax", "Monastir", "Bizerte", "Nabeul", "Gabès"};
+    private static final String[] NOMS = {"Ibn Khaldoun", "El Manar", "Les Jasmins", "Carthage", "Ennasr", "La Marsa",
+        "El Ghazela", "Les Oliviers"};
+    private static final String INSERT_FOYER = "INSERT INTO foyer (id, nom, adresse, capacite) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_CHAMBRE =
+        "INSERT INTO chambre (id, numero, type, disponible, capacite, lits_occupes, foyer_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_OCCUPATION =
+        "INSERT INTO occupation (id, chambre_id, user_id, user_name, date_affectation) VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private FoyerRepository foyerRepository;
+
+    @Value("${seed.synthetic.seed:42}")
+    private long seed;
+
+    @Value("${seed.synthetic.foyers:200}")
+    private int foyers;
+
+    @Value("${seed.synthetic.chambres-par-foyer:250}")
+    private int chambresParFoyer;
+
+    // Part des lits déjà attribués à un étudiant
+    @Value("${seed.synthetic.occupation:0.6}")
+    private double occupation;
+
+    @Value("${seed.synthetic.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public void run(String... args) {
+        if (foyerRepository.count() > 0) {
+            log.info("🌱 Génération synthétique ignorée : la base contient déjà des foyers");
+            return;
+        }
+        long debut = System.currentTimeMillis();
+        Random random = new Random(seed);
+
+        List<Object[]> lignes = new ArrayList<>(batchSize);
+        for (long id = 1; id <= foyers; id++) {
+            String nom = "Foyer " + NOMS[random.nextInt(NOMS.length)] + " " + id;
+            lignes.add(new Object[]{id, nom, random.nextInt(200) + " Rue " + id + ", " + VILLES[random.nextInt(VILLES.length)],
+                chambresParFoyer});
+            if (lignes.size() >= batchSize) {
+                inserer(INSERT_FOYER, lignes);
+            }
+        }
+        inserer(INSERT_FOYER, lignes);
+
+        long chambreId = 1;
+        long occupationId = 1;
+        List<Object[]> occupations = new ArrayList<>(batchSize);
+        LocalDateTime dateAffectation = LocalDateTime.of(2025, 9, 1, 9, 0);
+        for (long foyerId = 1; foyerId <= foyers; foyerId++) {
+            for (int i = 0; i < chambresParFoyer; i++, chambreId++) {
+                // Numérotation par étage : 101, 102, ... 201, ...
+                String numero = String.valueOf((i / 50 + 1) * 100 + i % 50 + 1);
+                int tirage = random.nextInt(6);
+                ChambreType type = tirage < 4 ? ChambreType.SIMPLE : tirage == 4 ? ChambreType.DOUBLE : ChambreType.TRIPLE;
+                int occupes = 0;
+                for (int lit = 0; lit < type.getLits(); lit++) {
+                    if (random.nextDouble() < occupation) {
+                        occupes++;
+                    }
+                }
+                lignes.add(new Object[]{chambreId, numero, type.name(), occupes < type.getLits(), type.getLits(), occupes,
+                    foyerId});
+                for (int lit = 0; lit < occupes; lit++, occupationId++) {
+                    occupations.add(new Object[]{occupationId, chambreId,
+                        String.format("%024x", occupationId), // format ObjectId MongoDB
+                        "Étudiant " + occupationId, dateAffectation});
+                }
+                if (lignes.size() >= batchSize) {
+                    // Les occupants après leurs chambres (clé étrangère)
+                    inserer(INSERT_CHAMBRE, lignes);
+                    inserer(INSERT_OCCUPATION, occupations);
+                }
+            }
+        }
+        inserer(INSERT_CHAMBRE, lignes);
+        inserer(INSERT_OCCUPATION, occupations);
+        long attribuees = occupationId - 1;
+
+        // Les id ont été fixés explicitement : on avance les séquences au-delà. L'optimiseur pooled
+        // distribue (valeur - 49 .. valeur), d'où le + ALLOCATION (allocationSize des entités)
+        jdbcTemplate.execute("ALTER SEQUENCE foyer_seq RESTART WITH " + (foyers + ALLOCATION));
+        jdbcTemplate.execute("ALTER SEQUENCE chambre_seq RESTART WITH " + (chambreId - 1 + ALLOCATION));
+        jdbcTemplate.execute("ALTER SEQUENCE occupation_seq RESTART WITH " + (attribuees + ALLOCATION));
+
+        log.info("🌱 Jeu synthétique chargé en {} ms : {} foyers, {} chambres, {} lits attribués (graine {})",
+            System.currentTimeMillis() - debut, foyers, chambreId - 1, attribuees, seed);
+    }
+
+    private void inserer(String sql, List<Object[]> lignes) {
+        if (!lignes.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, lignes);
+            lignes.clear();
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.ski.eduka.entity.User;
 import com.ski.eduka.repository.ChambreRepository;
 import com.ski.eduka.repository.UserRepository;
 import com.ski.eduka.service.ChambreService;
+import com.ski.eduka.service.HousingService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -21,6 +22,7 @@ public class ChambreController {
     private final ChambreRepository chambreRepository;
     private final UserRepository userRepository;
     private final ChambreService chambreService;
+    private final HousingService housingService;
 
     @GetMapping
     public List<Chambre> getAll() {
@@ -32,21 +34,20 @@ public class ChambreController {
         return chambreRepository.findByDisponibleTrue();
     }
 
+    // Via HousingService : compteur de lits, index de disponibilité et statistiques restent cohérents
     @PostMapping
-    public Chambre add(@RequestBody Chambre chambre) {
-        return chambreRepository.save(chambre);
+    public Chambre add(@RequestParam Long foyerId, @RequestBody Chambre chambre) {
+        return housingService.createChambre(foyerId, chambre);
     }
 
     @PutMapping("/{id}")
     public Chambre update(@PathVariable Long id, @RequestBody Chambre chambre) {
-        //chambre.setId(id);
-        chambre.setId(id);
-        return chambreRepository.save(chambre);
+        return housingService.updateChambre(id, chambre);
     }
 
     @DeleteMapping("/{id}")
     public void delete(@PathVariable Long id) {
-        chambreRepository.deleteById(id);
+        housingService.deleteChambre(id);
     }
 
 
@@ -1,10 +1,16 @@
 package com.ski.eduka.controller;
 
 
+import com.ski.eduka.dto.AllocationRequest;
+import com.ski.eduka.dto.AllocationResponse;
+import com.ski.eduka.dto.WaitlistResponse;
 import com.ski.eduka.entity.Chambre;
 import com.ski.eduka.entity.Foyer;
+import com.ski.eduka.entity.Occupation;
 import com.ski.eduka.enums.ChambreType;
+import com.ski.eduka.service.AllocationService;
 import com.ski.eduka.service.HousingService;
+import com.ski.eduka.service.WaitlistService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -20,7 +26,7 @@ import java.util.List;
  *
  * 🔐 Contrôle d'Accès:
  * - ADMIN: CRUD complet (Foyers, Chambres, Affectations)
- * - USER/STUDENT: Consultation (Foyers, Chambres disponibles, Ma chambre)
+ * - USER/STUDENT: Consultation (Foyers, Chambres disponibles, Ma chambre), Liste d'attente
  */
 @RestController
 @RequestMapping("/api/housing")
@@ -29,6 +35,12 @@ public class HousingController {
     @Autowired
     private HousingService housingService;
 
+    @Autowired
+    private AllocationService allocationService;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
     // ============================================
     // 🔴 ADMIN ONLY - GESTION DES FOYERS
     // ============================================
@@ -121,7 +133,7 @@ public class HousingController {
     // ============================================
 
     /**
-     * Assigner une chambre à un utilisateur
+     * Assigner un lit d'une chambre à un utilisateur (409 si plus aucun lit libre)
      *
      * Query Params:
      * - userId: ID de l'utilisateur (MongoDB ObjectId du service Node.js)
@@ -141,14 +153,53 @@ public class HousingController {
 
     /**
      * Libérer une chambre (désaffectation)
+     *
+     * Avec userId: libère seulement le lit de cet occupant; sans: libère tous les lits
+     *
+     * Exemple: POST /chambres/5/unassign?userId=507f1f77bcf86cd799439011
      */
     @PostMapping("/chambres/{chambreId}/unassign")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Chambre> unassignChambre(@PathVariable Long chambreId) {
-        Chambre unassigned = housingService.unassignChambre(chambreId);
+    public ResponseEntity<Chambre> unassignChambre(
+            @PathVariable Long chambreId,
+            @RequestParam(required = false) String userId) {
+        Chambre unassigned = userId == null
+                ? housingService.unassignChambre(chambreId)
+                : housingService.unassignOccupant(chambreId, userId);
         return ResponseEntity.ok(unassigned);
     }
 
+    /**
+     * Obtenir les occupants d'une chambre
+     */
+    @GetMapping("/chambres/{chambreId}/occupants")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<Occupation>> getOccupants(@PathVariable Long chambreId) {
+        return ResponseEntity.ok(housingService.getOccupants(chambreId));
+    }
+
+    /**
+     * Allocation en masse (début de semestre)
+     *
+     * Ordre de passage tiré au sort, chaque étudiant reçoit la première chambre libre dans ses choix.
+     * Retourne un résultat par étudiant, dans l'ordre de la demande.
+     *
+     * Exemple Body:
+     * {
+     *   "seed": 2025,
+     *   "students": [
+     *     { "userId": "507f1f77bcf86cd799439011", "userName": "John Doe",
+     *       "foyerIds": [3, 1], "types": ["SIMPLE", "DOUBLE"] }
+     *   ]
+     * }
+     */
+    @PostMapping("/allocations")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AllocationResponse> allocate(@RequestBody AllocationRequest request) {
+        AllocationResponse response = allocationService.allocate(request);
+        return ResponseEntity.ok(response);
+    }
+
     // ============================================
     // 🟢 USER/STUDENT - CONSULTATION
     // ============================================
@@ -216,6 +267,37 @@ public class HousingController {
         return ResponseEntity.ok(chambres);
     }
 
+    /**
+     * Trouver une chambre disponible d'un type dans un foyer (choix en libre-service)
+     *
+     * Exemple: GET /foyers/3/chambres/available/DOUBLE
+     */
+    @GetMapping("/foyers/{foyerId}/chambres/available/{type}")
+    @PreAuthorize("hasAnyRole('USER', 'STUDENT', 'ADMIN')")
+    public ResponseEntity<Chambre> findAvailableChambre(
+            @PathVariable Long foyerId,
+            @PathVariable ChambreType type) {
+        Chambre chambre = housingService.findAvailableChambre(foyerId, type);
+
+        if (chambre == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(null); // Aucune chambre libre de ce type
+        }
+
+        return ResponseEntity.ok(chambre);
+    }
+
+    /**
+     * Nombre de chambres disponibles d'un type dans un foyer
+     */
+    @GetMapping("/foyers/{foyerId}/chambres/available/{type}/count")
+    @PreAuthorize("hasAnyRole('USER', 'STUDENT', 'ADMIN')")
+    public ResponseEntity<Long> countAvailableChambres(
+            @PathVariable Long foyerId,
+            @PathVariable ChambreType type) {
+        return ResponseEntity.ok(housingService.countAvailableChambres(foyerId, type));
+    }
+
     /**
      * 🔑 Obtenir MA chambre assignée (utilisateur connecté)
      *
@@ -239,6 +321,54 @@ public class HousingController {
         return ResponseEntity.ok(myChambre);
     }
 
+    // ============================================
+    // 🟢 USER/STUDENT - LISTE D'ATTENTE
+    // ============================================
+
+    /**
+     * 🔑 S'inscrire sur la liste d'attente d'un foyer pour un type de chambre
+     *
+     * Si personne n'attend et qu'un lit est libre, il est attribué tout de suite (status ASSIGNED);
+     * sinon l'inscription est enregistrée (status WAITING, avec la position dans la file).
+     * Les lits libérés sont ensuite attribués dans l'ordre d'inscription.
+     *
+     * Exemple: POST /foyers/1/waitlist/DOUBLE
+     */
+    @PostMapping("/foyers/{foyerId}/waitlist/{type}")
+    @PreAuthorize("hasAnyRole('USER', 'STUDENT', 'ADMIN')")
+    public ResponseEntity<WaitlistResponse> joinWaitlist(
+            @PathVariable Long foyerId,
+            @PathVariable ChambreType type,
+            @AuthenticationPrincipal Jwt jwt) {
+        String userName = jwt.getClaimAsString("preferred_username");
+        WaitlistResponse response = waitlistService.rejoindre(foyerId, type, jwt.getSubject(),
+                userName != null ? userName : jwt.getSubject());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 🔑 Obtenir MON inscription en attente et ma position
+     */
+    @GetMapping("/my-waitlist")
+    @PreAuthorize("hasAnyRole('USER', 'STUDENT', 'ADMIN')")
+    public ResponseEntity<WaitlistResponse> getMyWaitlist(@AuthenticationPrincipal Jwt jwt) {
+        WaitlistResponse inscription = waitlistService.getInscription(jwt.getSubject());
+        if (inscription == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        }
+        return ResponseEntity.ok(inscription);
+    }
+
+    /**
+     * 🔑 Quitter la liste d'attente
+     */
+    @DeleteMapping("/my-waitlist")
+    @PreAuthorize("hasAnyRole('USER', 'STUDENT', 'ADMIN')")
+    public ResponseEntity<Void> leaveWaitlist(@AuthenticationPrincipal Jwt jwt) {
+        waitlistService.quitter(jwt.getSubject());
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Obtenir une chambre par ID
      */
@@ -253,10 +383,23 @@ public class HousingController {
     // 🔴 ADMIN ONLY - STATISTIQUES
     // ============================================
 
+    /**
+     * Obtenir les statistiques de tous les foyers (tableau de bord)
+     *
+     * Par foyer: chambres (total, disponibles, occupées), lits (total, libres, occupés), capacité max
+     * et détail par type de chambre
+     */
+    @GetMapping("/foyers/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<HousingService.FoyerStats>> getAllFoyerStats() {
+        List<HousingService.FoyerStats> stats = housingService.getAllFoyerStats();
+        return ResponseEntity.ok(stats);
+    }
+
     /**
      * Obtenir les statistiques d'un foyer
      *
-     * Retourne: nom, total chambres, disponibles, occupées, capacité max
+     * Retourne: nom, total chambres, disponibles, occupées, lits libres/occupés, capacité max, détail par type
      */
     @GetMapping("/foyers/{foyerId}/stats")
     @PreAuthorize("hasRole('ADMIN')")
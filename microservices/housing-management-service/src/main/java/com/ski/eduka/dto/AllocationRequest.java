@@ -0,0 +1,27 @@
+package com.ski.eduka.dto;
+
+import com.ski.eduka.enums.ChambreType;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Demande d'allocation en masse (début de semestre)
+ */
+@Data
+public class AllocationRequest {
+    // Graine du tirage de l'ordre de passage ; même graine + mêmes chambres libres => même résultat
+    private Long seed;
+    private List<StudentChoice> students = new ArrayList<>();
+
+    @Data
+    public static class StudentChoice {
+        private String userId;
+        private String userName;
+        // Foyers par ordre de préférence (vide = n'importe lequel)
+        private List<Long> foyerIds = new ArrayList<>();
+        // Types par ordre de préférence (vide = n'importe lequel)
+        private List<ChambreType> types = new ArrayList<>();
+    }
+}
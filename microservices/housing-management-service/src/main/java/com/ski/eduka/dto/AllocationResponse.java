@@ -0,0 +1,19 @@
+package com.ski.eduka.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AllocationResponse {
+    private long seed;
+    private int requested;
+    private int assigned;
+    private long durationMs;
+    // Dans l'ordre de la demande
+    private List<AllocationResult> results;
+}
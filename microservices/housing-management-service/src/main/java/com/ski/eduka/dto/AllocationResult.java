@@ -0,0 +1,24 @@
+package com.ski.eduka.dto;
+
+import com.ski.eduka.enums.AllocationStatus;
+import com.ski.eduka.enums.ChambreType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AllocationResult {
+    private String userId;
+    private AllocationStatus status;
+    private Long chambreId;
+    private String numero;
+    private Long foyerId;
+    private ChambreType type;
+    private String message;
+
+    public static AllocationResult rejected(String userId, AllocationStatus status, String message) {
+        return new AllocationResult(userId, status, null, null, null, null, message);
+    }
+}
@@ -0,0 +1,21 @@
+package com.ski.eduka.dto;
+
+import com.ski.eduka.enums.ChambreType;
+import com.ski.eduka.enums.WaitlistStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistResponse {
+    private WaitlistStatus status;
+    private Long foyerId;
+    private ChambreType type;
+    // ASSIGNED : chambre obtenue
+    private Long chambreId;
+    private String numero;
+    // WAITING : 1 = prochain servi
+    private Long position;
+}
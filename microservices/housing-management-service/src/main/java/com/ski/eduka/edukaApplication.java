@@ -3,10 +3,12 @@ package com.ski.eduka;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 //@EnableFeignClients(basePackages = "com.ski.eduka.client")
 @EnableFeignClients
+@EnableScheduling
 public class edukaApplication {
 
 	public static void main(String[] args) {
@@ -16,7 +16,8 @@ import lombok.NoArgsConstructor;
 public class Chambre {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chambre_seq")
+    @SequenceGenerator(name = "chambre_seq", sequenceName = "chambre_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -26,16 +27,17 @@ public class Chambre {
     @Column(nullable = false)
     private ChambreType type; // SIMPLE, DOUBLE, TRIPLE
 
+    // Au moins un lit libre ; tenu à jour avec litsOccupes par les UPDATE conditionnels
     @Column(nullable = false)
     private boolean disponible = true;
 
-    // 🆕 ID de l'utilisateur assigné (venant du service User Management Node.js)
-    @Column(name = "user_id")
-    private String userId; // MongoDB ObjectId du service Node.js
+    // Nombre de lits (1 pour SIMPLE, 2 pour DOUBLE, 3 pour TRIPLE par défaut)
+    @Column(nullable = false)
+    private int capacite;
 
-    // 🆕 Nom de l'utilisateur (pour faciliter l'affichage)
-    @Column(name = "user_name")
-    private String userName;
+    // 🆕 Compteur de lits occupés ; les occupants eux-mêmes sont dans Occupation
+    @Column(name = "lits_occupes", nullable = false)
+    private int litsOccupes;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "foyer_id", nullable = false)
@@ -48,28 +50,24 @@ public class Chambre {
     // Helper Methods
     // ============================================
 
-    /**
-     * Assigner la chambre à un utilisateur
-     */
-    public void assignToUser(String userId, String userName) {
-        this.userId = userId;
-        this.userName = userName;
-        this.disponible = false;
+    @PrePersist
+    void capaciteParDefaut() {
+        if (capacite <= 0 && type != null) {
+            capacite = type.getLits();
+        }
     }
 
     /**
-     * Libérer la chambre
+     * Nombre de lits libres
      */
-    public void unassign() {
-        this.userId = null;
-        this.userName = null;
-        this.disponible = true;
+    public int getLitsLibres() {
+        return Math.max(0, capacite - litsOccupes);
     }
 
     /**
-     * Vérifier si la chambre est assignée
+     * Vérifier si au moins un lit est occupé
      */
     public boolean isAssigned() {
-        return userId != null && !userId.isEmpty();
+        return litsOccupes > 0;
     }
 }
\ No newline at end of file
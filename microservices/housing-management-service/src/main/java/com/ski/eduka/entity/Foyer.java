@@ -20,7 +20,8 @@ public class Foyer {
 
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "foyer_seq")
+    @SequenceGenerator(name = "foyer_seq", sequenceName = "foyer_seq", allocationSize = 50)
     private Long id;
 
     private String nom;
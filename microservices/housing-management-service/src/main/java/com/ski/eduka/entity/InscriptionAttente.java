@@ -0,0 +1,45 @@
+package com.ski.eduka.entity;
+
+import com.ski.eduka.enums.ChambreType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Inscription d'un étudiant sur la liste d'attente d'un foyer pour un type de chambre.
+ * Servie dans l'ordre (dateInscription, id) ; une seule inscription par étudiant.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_inscription_attente_user_id", columnNames = "user_id"),
+       indexes = @Index(name = "idx_inscription_attente_file", columnList = "foyer_id, type, date_inscription, id"))
+public class InscriptionAttente {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inscription_attente_seq")
+    @SequenceGenerator(name = "inscription_attente_seq", sequenceName = "inscription_attente_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "foyer_id", nullable = false)
+    private Long foyerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ChambreType type;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "user_name")
+    private String userName;
+
+    @Column(name = "date_inscription", nullable = false)
+    private LocalDateTime dateInscription;
+}
@@ -0,0 +1,44 @@
+package com.ski.eduka.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Un lit occupé : un étudiant dans une chambre.
+ * La contrainte unique sur user_id garantit un seul lit par étudiant, même en concurrence.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_occupation_user_id", columnNames = "user_id"),
+       indexes = @Index(name = "idx_occupation_chambre", columnList = "chambre_id"))
+public class Occupation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "occupation_seq")
+    @SequenceGenerator(name = "occupation_seq", sequenceName = "occupation_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "chambre_id", nullable = false)
+    @JsonIgnore
+    private Chambre chambre;
+
+    // ID de l'utilisateur (MongoDB ObjectId du service Node.js)
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "user_name")
+    private String userName;
+
+    @Column(name = "date_affectation", nullable = false)
+    private LocalDateTime dateAffectation;
+}
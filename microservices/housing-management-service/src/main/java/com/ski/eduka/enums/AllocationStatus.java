@@ -0,0 +1,5 @@
+package com.ski.eduka.enums;
+
+public enum AllocationStatus {
+    ASSIGNED, ALREADY_HOUSED, NO_ROOM, CONFLICT, INVALID
+}
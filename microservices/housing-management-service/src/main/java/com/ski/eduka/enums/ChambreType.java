@@ -1,6 +1,18 @@
 package com.ski.eduka.enums;
 
 public enum ChambreType {
-    SIMPLE,
-    DOUBLE
+    SIMPLE(1),
+    DOUBLE(2),
+    TRIPLE(3);
+
+    // Nombre de lits
+    private final int lits;
+
+    ChambreType(int lits) {
+        this.lits = lits;
+    }
+
+    public int getLits() {
+        return lits;
+    }
 }
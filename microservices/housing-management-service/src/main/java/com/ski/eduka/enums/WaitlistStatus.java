@@ -0,0 +1,5 @@
+package com.ski.eduka.enums;
+
+public enum WaitlistStatus {
+    ASSIGNED, WAITING
+}
@@ -0,0 +1,64 @@
+package com.ski.eduka.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * SQL émis par un appel de méthode de repository Spring Data
+ * (sql.repository.statements / rows / time, tags repository et method).
+ * Seul l'appel le plus externe est mesuré : un repository qui en appelle d'autres ne compte qu'une fois.
+ */
+class RepositorySqlInterceptor implements MethodInterceptor {
+
+    private final String repository;
+    private final ObjectProvider<MeterRegistry> registry;
+
+    RepositorySqlInterceptor(String repository, ObjectProvider<MeterRegistry> registry) {
+        this.repository = repository;
+        this.registry = registry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (SqlStatistics.isOpen(SqlScope.Kind.REPOSITORY)) {
+            return invocation.proceed();
+        }
+        String method = invocation.getMethod().getName();
+        SqlScope scope = SqlStatistics.open(SqlScope.Kind.REPOSITORY);
+        try {
+            return invocation.proceed();
+        } finally {
+            scope.close();
+            // Streams et résultats lazy peuvent exécuter leur SQL après le retour ; seul l'appel lui-même est compté
+            if (scope.getStatements() > 0) {
+                record(method, scope);
+            }
+        }
+    }
+
+    private void record(String method, SqlScope scope) {
+        MeterRegistry meterRegistry = registry.getIfAvailable();
+        if (meterRegistry == null) {
+            return;
+        }
+        DistributionSummary.builder("sql.repository.statements")
+            .description("JDBC statements executed per repository call")
+            .tags("repository", repository, "method", method)
+            .register(meterRegistry)
+            .record(scope.getStatements());
+        DistributionSummary.builder("sql.repository.rows")
+            .description("Rows read or written per repository call")
+            .tags("repository", repository, "method", method)
+            .register(meterRegistry)
+            .record(scope.getRows());
+        Timer.builder("sql.repository.time")
+            .description("Time spent executing SQL per repository call")
+            .tags("repository", repository, "method", method)
+            .register(meterRegistry)
+            .record(scope.getTime());
+    }
+}
@@ -0,0 +1,74 @@
+package com.ski.eduka.monitoring;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL exécuté pendant que le scope était ouvert sur son thread : nombre de requêtes, lignes lues ou
+ * écrites, temps JDBC et nombre d'exécutions de chaque requête distincte (le signal N+1).
+ * Non thread-safe : un scope appartient au thread qui l'a ouvert.
+ */
+public final class SqlScope implements AutoCloseable {
+
+    public enum Kind { REQUEST, REPOSITORY, CAPTURE }
+
+    private final Kind kind;
+    private final Map<String, Integer> executions = new HashMap<>();
+    private int statements;
+    private long rows;
+    private long nanos;
+
+    SqlScope(Kind kind) {
+        this.kind = kind;
+    }
+
+    void statement(String sql, long elapsedNanos, long affectedRows) {
+        statements++;
+        nanos += elapsedNanos;
+        rows += Math.max(affectedRows, 0);
+        if (sql != null) {
+            executions.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void rows(long count) {
+        rows += count;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public Duration getTime() {
+        return Duration.ofNanos(nanos);
+    }
+
+    /**
+     * Nombre d'exécutions par texte SQL distinct
+     */
+    public Map<String, Integer> getExecutions() {
+        return Collections.unmodifiableMap(executions);
+    }
+
+    /**
+     * Requête la plus souvent exécutée, null si aucune
+     */
+    public Map.Entry<String, Integer> getMostRepeated() {
+        return executions.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+    }
+
+    @Override
+    public void close() {
+        SqlStatistics.close(this);
+    }
+}
@@ -0,0 +1,81 @@
+package com.ski.eduka.monitoring;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Comptage SQL par thread, alimenté par {@link InstrumentedDataSource}.
+ * Des scopes sont ouverts autour d'unités de travail (requête HTTP, appel de repository, test) ; chaque
+ * requête exécutée sur le thread est ajoutée à tous les scopes ouverts à ce moment.
+ */
+public final class SqlStatistics {
+
+    // Renseigné seulement quand un scope est ouvert : les autres threads ne paient qu'une lecture par requête
+    private static final ThreadLocal<Deque<SqlScope>> SCOPES = new ThreadLocal<>();
+
+    private SqlStatistics() {
+    }
+
+    /**
+     * Compter tout ce que le thread courant exécute jusqu'à la fermeture du scope retourné.
+     * Pour les tests : {@code try (SqlScope sql = SqlStatistics.capture()) { ... }}
+     */
+    public static SqlScope capture() {
+        return open(SqlScope.Kind.CAPTURE);
+    }
+
+    static SqlScope open(SqlScope.Kind kind) {
+        Deque<SqlScope> scopes = SCOPES.get();
+        if (scopes == null) {
+            scopes = new ArrayDeque<>();
+            SCOPES.set(scopes);
+        }
+        SqlScope scope = new SqlScope(kind);
+        scopes.push(scope);
+        return scope;
+    }
+
+    static void close(SqlScope scope) {
+        Deque<SqlScope> scopes = SCOPES.get();
+        if (scopes != null && scopes.remove(scope) && scopes.isEmpty()) {
+            SCOPES.remove();
+        }
+    }
+
+    static boolean isOpen(SqlScope.Kind kind) {
+        Deque<SqlScope> scopes = SCOPES.get();
+        if (scopes == null) {
+            return false;
+        }
+        for (SqlScope scope : scopes) {
+            if (scope.getKind() == kind) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean isActive() {
+        return SCOPES.get() != null;
+    }
+
+    static void statement(String sql, long nanos, long rows) {
+        Deque<SqlScope> scopes = SCOPES.get();
+        if (scopes == null) {
+            return;
+        }
+        for (SqlScope scope : scopes) {
+            scope.statement(sql, nanos, rows);
+        }
+    }
+
+    static void rows(long rows) {
+        Deque<SqlScope> scopes = SCOPES.get();
+        if (scopes == null) {
+            return;
+        }
+        for (SqlScope scope : scopes) {
+            scope.rows(rows);
+        }
+    }
+}
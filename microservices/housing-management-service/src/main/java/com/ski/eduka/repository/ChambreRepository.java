@@ -3,6 +3,7 @@ package com.ski.eduka.repository;
 import com.ski.eduka.entity.Chambre;
 import com.ski.eduka.enums.ChambreType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -31,14 +32,25 @@ public interface ChambreRepository extends JpaRepository<Chambre, Long> {
     List<Chambre> findByDisponibleTrueAndType(ChambreType type);
 
     /**
-     * Trouver une chambre par userId (chambre assignée à un utilisateur)
+     * Première chambre disponible d'un type dans un foyer
      */
-    Optional<Chambre> findByUserId(String userId);
+    Optional<Chambre> findFirstByFoyerIdAndTypeAndDisponibleTrueOrderByIdAsc(Long foyerId, ChambreType type);
 
     /**
-     * Trouver toutes les chambres assignées
+     * Compter les chambres disponibles d'un type dans un foyer
      */
-    @Query("SELECT c FROM Chambre c WHERE c.userId IS NOT NULL")
+    long countByFoyerIdAndTypeAndDisponibleTrue(Long foyerId, ChambreType type);
+
+    /**
+     * Trouver la chambre d'un utilisateur (via son lit)
+     */
+    @Query("SELECT o.chambre FROM Occupation o WHERE o.userId = :userId")
+    Optional<Chambre> findByOccupantUserId(@Param("userId") String userId);
+
+    /**
+     * Trouver toutes les chambres dont au moins un lit est occupé
+     */
+    @Query("SELECT c FROM Chambre c WHERE c.litsOccupes > 0")
     List<Chambre> findAssignedChambres();
 
     /**
@@ -51,4 +63,40 @@ public interface ChambreRepository extends JpaRepository<Chambre, Long> {
      * Vérifier si une chambre existe par numéro dans un foyer
      */
     boolean existsByNumeroAndFoyerId(String numero, Long foyerId);
+
+    /**
+     * Occuper un lit seulement s'il en reste un (UPDATE conditionnel atomique, retourne 0 sinon).
+     * disponible est calculé avant l'incrément : correct que le SET lise les anciennes valeurs (H2)
+     * ou soit évalué de gauche à droite (MySQL).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Chambre c SET c.disponible = CASE WHEN c.litsOccupes + 1 < c.capacite THEN true ELSE false END, " +
+           "c.litsOccupes = c.litsOccupes + 1 WHERE c.id = :id AND c.litsOccupes < c.capacite")
+    int occuperLit(@Param("id") Long id);
+
+    /**
+     * Libérer un lit (retourne 0 si aucun n'était occupé)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Chambre c SET c.disponible = true, c.litsOccupes = c.litsOccupes - 1 " +
+           "WHERE c.id = :id AND c.litsOccupes > 0")
+    int libererLit(@Param("id") Long id);
+
+    /**
+     * Modifier numéro, type et nombre de lits sans toucher au compteur (retourne 0 si la
+     * chambre a plus d'occupants que la nouvelle capacité)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Chambre c SET c.numero = :numero, c.type = :type, c.capacite = :capacite, " +
+           "c.disponible = CASE WHEN c.litsOccupes < :capacite THEN true ELSE false END " +
+           "WHERE c.id = :id AND c.litsOccupes <= :capacite")
+    int updateNumeroTypeCapacite(@Param("id") Long id, @Param("numero") String numero,
+                                 @Param("type") ChambreType type, @Param("capacite") int capacite);
+
+    /**
+     * Libérer tous les lits d'une chambre
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Chambre c SET c.disponible = true, c.litsOccupes = 0 WHERE c.id = :id")
+    int libererTousLesLits(@Param("id") Long id);
 }
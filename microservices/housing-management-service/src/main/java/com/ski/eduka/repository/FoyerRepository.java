@@ -1,11 +1,16 @@
 package com.ski.eduka.repository;
 
 import com.ski.eduka.entity.Foyer;
+import com.ski.eduka.enums.ChambreType;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface FoyerRepository extends JpaRepository<Foyer, Long> {
@@ -18,9 +23,43 @@ public interface FoyerRepository extends JpaRepository<Foyer, Long> {
      */
     List<Foyer> findByCapaciteGreaterThanEqual(int capacite);
 
+    /**
+     * Verrouiller un foyer (SELECT ... FOR UPDATE) jusqu'à la fin de la transaction.
+     * Sérialise les opérations sur ses listes d'attente : toujours pris avant les lignes chambre.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT f FROM Foyer f WHERE f.id = :id")
+    Optional<Foyer> lockById(@Param("id") Long id);
+
     /**
      * Compter le nombre de foyers
      */
     @Query("SELECT COUNT(f) FROM Foyer f")
     long countFoyers();
+
+    /**
+     * Nombre de chambres (total et disponibles) et de lits (total et occupés) par foyer et par type,
+     * en une seule requête, à partir des compteurs de Chambre (sans lire les occupants).
+     * Un foyer sans chambre donne une ligne avec type null et total 0.
+     */
+    @Query("SELECT f.id AS foyerId, f.nom AS nom, f.capacite AS capacite, c.type AS type, COUNT(c.id) AS total, " +
+           "COALESCE(SUM(CASE WHEN c.disponible = true THEN 1 ELSE 0 END), 0) AS disponibles, " +
+           "COALESCE(SUM(c.capacite), 0) AS lits, COALESCE(SUM(c.litsOccupes), 0) AS litsOccupes " +
+           "FROM Foyer f LEFT JOIN f.chambres c " +
+           "GROUP BY f.id, f.nom, f.capacite, c.type ORDER BY f.id")
+    List<ChambreCount> countChambresParFoyerEtType();
+
+    /**
+     * Ligne de countChambresParFoyerEtType
+     */
+    interface ChambreCount {
+        Long getFoyerId();
+        String getNom();
+        Integer getCapacite();
+        ChambreType getType();
+        Long getTotal();
+        Long getDisponibles();
+        Long getLits();
+        Long getLitsOccupes();
+    }
 }
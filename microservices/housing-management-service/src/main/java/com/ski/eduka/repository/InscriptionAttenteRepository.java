@@ -0,0 +1,44 @@
+package com.ski.eduka.repository;
+
+import com.ski.eduka.entity.InscriptionAttente;
+import com.ski.eduka.enums.ChambreType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface InscriptionAttenteRepository extends JpaRepository<InscriptionAttente, Long> {
+
+    /**
+     * Tête de la file d'attente (foyer, type)
+     */
+    Optional<InscriptionAttente> findFirstByFoyerIdAndTypeOrderByDateInscriptionAscIdAsc(Long foyerId, ChambreType type);
+
+    boolean existsByFoyerIdAndType(Long foyerId, ChambreType type);
+
+    Optional<InscriptionAttente> findByUserId(String userId);
+
+    /**
+     * Nombre d'inscrits devant cette inscription dans sa file
+     */
+    @Query("SELECT COUNT(a) FROM InscriptionAttente a WHERE a.foyerId = :foyerId AND a.type = :type " +
+           "AND (a.dateInscription < :date OR (a.dateInscription = :date AND a.id < :id))")
+    long countDevant(@Param("foyerId") Long foyerId, @Param("type") ChambreType type,
+                     @Param("date") LocalDateTime date, @Param("id") Long id);
+
+    /**
+     * Foyers ayant au moins un inscrit, par id croissant (ordre de verrouillage)
+     */
+    @Query("SELECT DISTINCT a.foyerId FROM InscriptionAttente a ORDER BY a.foyerId")
+    List<Long> findFoyerIdsEnAttente();
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM InscriptionAttente a WHERE a.foyerId = :foyerId")
+    int deleteByFoyerId(@Param("foyerId") Long foyerId);
+}
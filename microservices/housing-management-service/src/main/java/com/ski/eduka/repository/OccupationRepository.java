@@ -0,0 +1,35 @@
+package com.ski.eduka.repository;
+
+import com.ski.eduka.entity.Occupation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OccupationRepository extends JpaRepository<Occupation, Long> {
+
+    /**
+     * Occupants d'une chambre
+     */
+    List<Occupation> findByChambreIdOrderByDateAffectationAsc(Long chambreId);
+
+    boolean existsByUserId(String userId);
+
+    /**
+     * Retirer un occupant d'une chambre
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Occupation o WHERE o.chambre.id = :chambreId AND o.userId = :userId")
+    int deleteOccupant(@Param("chambreId") Long chambreId, @Param("userId") String userId);
+
+    /**
+     * Retirer tous les occupants d'une chambre
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM Occupation o WHERE o.chambre.id = :chambreId")
+    int deleteByChambre(@Param("chambreId") Long chambreId);
+}
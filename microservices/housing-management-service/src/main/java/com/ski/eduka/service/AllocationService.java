@@ -0,0 +1,269 @@
+package com.ski.eduka.service;
+
+import com.ski.eduka.dto.AllocationRequest;
+import com.ski.eduka.dto.AllocationRequest.StudentChoice;
+import com.ski.eduka.dto.AllocationResponse;
+import com.ski.eduka.dto.AllocationResult;
+import com.ski.eduka.entity.Occupation;
+import com.ski.eduka.enums.AllocationStatus;
+import com.ski.eduka.enums.ChambreType;
+import com.ski.eduka.repository.ChambreRepository;
+import com.ski.eduka.repository.OccupationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Allocation en masse des chambres en début de semestre.
+ *
+ * Les chambres libres sont chargées une fois en mémoire, regroupées par type puis par foyer.
+ * L'appariement est une dictature sérielle aléatoire : l'ordre de passage des étudiants est tiré
+ * au sort (graine fournie ou générée), puis chacun prend la première chambre libre dans ses choix
+ * (foyers par ordre de préférence, puis types par ordre de préférence) ; une chambre DOUBLE ou
+ * TRIPLE reste dans le stock tant qu'il lui reste un lit. Personne n'est favorisé
+ * par sa position dans la demande et aucun étudiant n'a intérêt à mentir sur ses préférences.
+ *
+ * Les affectations sont appliquées par lots JDBC dans une seule transaction, avec le même
+ * UPDATE conditionnel sur le compteur de lits que l'affectation unitaire, puis les occupants
+ * sont insérés par lots. Les foyers où quelqu'un attend sont verrouillés avant les chambres ;
+ * les lits qu'il y reste libres après l'appariement vont ensuite à leurs listes d'attente.
+ */
+@Service
+@Transactional
+@Slf4j
+public class AllocationService {
+
+    private static final String SELECT_LIBRES = "SELECT id, numero, type, foyer_id, capacite - lits_occupes AS lits_libres " +
+        "FROM chambre WHERE disponible = true ORDER BY foyer_id, id";
+    private static final String SELECT_LOGES = "SELECT user_id FROM occupation";
+    // Même UPDATE conditionnel que ChambreRepository.occuperLit
+    private static final String OCCUPER_LIT = "UPDATE chambre SET disponible = (lits_occupes + 1 < capacite), " +
+        "lits_occupes = lits_occupes + 1 WHERE id = ? AND lits_occupes < capacite";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ChambreRepository chambreRepository;
+
+    @Autowired
+    private OccupationRepository occupationRepository;
+
+    @Autowired
+    private FoyerStatsCache foyerStatsCache;
+
+    @Autowired
+    private ChambreAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Value("${allocation.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Allouer des chambres à tous les étudiants de la demande
+     */
+    public AllocationResponse allocate(AllocationRequest request) {
+        long debut = System.currentTimeMillis();
+        List<StudentChoice> students = request.getStudents() == null ? List.of() : request.getStudents();
+        long seed = request.getSeed() != null ? request.getSeed() : System.nanoTime();
+
+        // Même ordre de verrouillage que HousingService : foyer avant chambre
+        Set<Long> foyersEnAttente = waitlistService.verrouillerFoyersEnAttente();
+        Map<ChambreType, Map<Long, ArrayDeque<Libre>>> libres = chargerChambresLibres();
+        Set<String> loges = new HashSet<>(jdbcTemplate.queryForList(SELECT_LOGES, String.class));
+        Set<String> vus = new HashSet<>();
+
+        List<Integer> ordre = new ArrayList<>(students.size());
+        for (int i = 0; i < students.size(); i++) {
+            ordre.add(i);
+        }
+        Collections.shuffle(ordre, new Random(seed));
+
+        AllocationResult[] results = new AllocationResult[students.size()];
+        List<Affectation> affectations = new ArrayList<>();
+        for (int index : ordre) {
+            StudentChoice student = students.get(index);
+            String userId = student == null ? null : student.getUserId();
+            if (userId == null || userId.isBlank()) {
+                results[index] = AllocationResult.rejected(userId, AllocationStatus.INVALID, "userId manquant");
+            } else if (!vus.add(userId)) {
+                results[index] = AllocationResult.rejected(userId, AllocationStatus.INVALID,
+                    "Étudiant présent plusieurs fois dans la demande");
+            } else if (loges.contains(userId)) {
+                results[index] = AllocationResult.rejected(userId, AllocationStatus.ALREADY_HOUSED,
+                    "L'étudiant a déjà une chambre assignée");
+            } else {
+                Libre chambre = prendre(libres, student);
+                if (chambre == null) {
+                    results[index] = AllocationResult.rejected(userId, AllocationStatus.NO_ROOM,
+                        "Aucune chambre libre parmi les choix de l'étudiant");
+                } else {
+                    affectations.add(new Affectation(index, chambre, userId, student.getUserName()));
+                }
+            }
+        }
+
+        appliquer(affectations, results);
+        int servis = servirListesAttente(libres, foyersEnAttente);
+        foyerStatsCache.invalidate();
+
+        int assigned = (int) Arrays.stream(results).filter(r -> r.getStatus() == AllocationStatus.ASSIGNED).count();
+        long duree = System.currentTimeMillis() - debut;
+        log.info("🗂️ Allocation en masse : {} étudiants, {} lits assignés en {} ms (graine {}), {} lit(s) à la liste d'attente",
+            students.size(), assigned, duree, seed, servis);
+        return new AllocationResponse(seed, students.size(), assigned, duree, Arrays.asList(results));
+    }
+
+    private Map<ChambreType, Map<Long, ArrayDeque<Libre>>> chargerChambresLibres() {
+        Map<ChambreType, Map<Long, ArrayDeque<Libre>>> libres = new EnumMap<>(ChambreType.class);
+        jdbcTemplate.query(SELECT_LIBRES, rs -> {
+            ChambreType type = ChambreType.valueOf(rs.getString("type"));
+            long foyerId = rs.getLong("foyer_id");
+            libres.computeIfAbsent(type, t -> new LinkedHashMap<>())
+                .computeIfAbsent(foyerId, f -> new ArrayDeque<>())
+                .add(new Libre(rs.getLong("id"), rs.getString("numero"), type, foyerId, rs.getInt("lits_libres")));
+        });
+        return libres;
+    }
+
+    /**
+     * Premier lit libre dans les choix de l'étudiant, retiré du stock
+     */
+    private Libre prendre(Map<ChambreType, Map<Long, ArrayDeque<Libre>>> libres, StudentChoice student) {
+        List<Long> foyers = student.getFoyerIds() == null || student.getFoyerIds().isEmpty()
+            ? Collections.singletonList(null) : student.getFoyerIds();
+        List<ChambreType> types = student.getTypes() == null || student.getTypes().isEmpty()
+            ? Arrays.asList(ChambreType.values()) : student.getTypes();
+
+        for (Long foyerId : foyers) {
+            for (ChambreType type : types) {
+                Map<Long, ArrayDeque<Libre>> parFoyer = libres.get(type);
+                if (parFoyer == null || parFoyer.isEmpty()) {
+                    continue;
+                }
+                // Chambres pleines et foyers épuisés sont retirés : toute file encore présente a un lit libre
+                ArrayDeque<Libre> chambres = foyerId == null
+                    ? parFoyer.values().iterator().next()
+                    : parFoyer.get(foyerId);
+                if (chambres != null) {
+                    Libre chambre = chambres.peek();
+                    if (--chambre.litsLibres == 0) {
+                        chambres.poll();
+                        if (chambres.isEmpty()) {
+                            parFoyer.remove(chambre.foyerId);
+                        }
+                    }
+                    return chambre;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void appliquer(List<Affectation> affectations, AllocationResult[] results) {
+        int[][] comptes = jdbcTemplate.batchUpdate(OCCUPER_LIT, affectations, batchSize,
+            (ps, a) -> ps.setLong(1, a.chambre().id));
+
+        List<Occupation> occupations = new ArrayList<>(affectations.size());
+        Map<Long, Libre> modifiees = new HashMap<>();
+        LocalDateTime maintenant = LocalDateTime.now();
+        int i = 0;
+        for (int[] lot : comptes) {
+            for (int compte : lot) {
+                Affectation a = affectations.get(i++);
+                Libre chambre = a.chambre();
+                if (compte == 0) {
+                    // Lit pris entre le chargement et l'UPDATE par une affectation unitaire
+                    results[a.index()] = AllocationResult.rejected(a.userId(), AllocationStatus.CONFLICT,
+                        "Plus de lit libre dans la chambre " + chambre.numero + " pendant l'allocation");
+                    continue;
+                }
+                results[a.index()] = new AllocationResult(a.userId(), AllocationStatus.ASSIGNED, chambre.id,
+                    chambre.numero, chambre.foyerId, chambre.type, null);
+                occupations.add(Occupation.builder()
+                    .chambre(chambreRepository.getReferenceById(chambre.id))
+                    .userId(a.userId())
+                    .userName(a.userName())
+                    .dateAffectation(maintenant)
+                    .build());
+                modifiees.put(chambre.id, chambre);
+            }
+        }
+
+        // Insertions groupées par Hibernate (hibernate.jdbc.batch_size, id issus de occupation_seq)
+        try {
+            occupationRepository.saveAll(occupations);
+            occupationRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            // uk_occupation_user_id : un étudiant de la demande a été logé pendant le calcul ; tout est annulé
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                "Un étudiant de la demande a été logé pendant l'allocation, relancez-la");
+        }
+
+        modifiees.values().forEach(chambre -> availabilityIndex.disponibiliteModifiee(chambre.id, chambre.litsLibres > 0));
+    }
+
+    /**
+     * Lits restés libres dans les foyers verrouillés : aux premiers inscrits de leur file.
+     * Appelé après appliquer, pour que l'état enregistré ici pour l'index soit le dernier.
+     */
+    private int servirListesAttente(Map<ChambreType, Map<Long, ArrayDeque<Libre>>> libres, Set<Long> foyersEnAttente) {
+        int servis = 0;
+        for (Map<Long, ArrayDeque<Libre>> parFoyer : libres.values()) {
+            for (Map.Entry<Long, ArrayDeque<Libre>> entry : parFoyer.entrySet()) {
+                if (!foyersEnAttente.contains(entry.getKey())) {
+                    continue;
+                }
+                for (Libre chambre : entry.getValue()) {
+                    servis += waitlistService.attribuerLitsLiberes(chambre.id, chambre.foyerId,
+                        chambre.type, chambre.litsLibres);
+                }
+            }
+        }
+        return servis;
+    }
+
+    /**
+     * Chambre avec au moins un lit libre ; litsLibres décompté pendant l'appariement
+     */
+    private static final class Libre {
+        final long id;
+        final String numero;
+        final ChambreType type;
+        final long foyerId;
+        int litsLibres;
+
+        Libre(long id, String numero, ChambreType type, long foyerId, int litsLibres) {
+            this.id = id;
+            this.numero = numero;
+            this.type = type;
+            this.foyerId = foyerId;
+            this.litsLibres = litsLibres;
+        }
+    }
+
+    private record Affectation(int index, Libre chambre, String userId, String userName) {
+    }
+}
@@ -0,0 +1,331 @@
+package com.ski.eduka.service;
+
+import com.ski.eduka.enums.ChambreType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index en mémoire des chambres disponibles : un BitSet par (foyer, type de chambre).
+ *
+ * Chaque chambre occupe une case fixe dans le BitSet de son foyer/type ; le bit est à 1 tant
+ * qu'elle est disponible. Disponibilité d'une chambre et nombre de chambres libres en O(1),
+ * première chambre libre par parcours des mots de 64 bits, sans requête SQL.
+ *
+ * Chargé au démarrage, tenu à jour par HousingService / AllocationService après chaque commit,
+ * et reconstruit périodiquement depuis la base (chambres.index.reconcile-interval-ms) pour
+ * rattraper les écritures faites ailleurs. Les modifications reçues pendant une reconstruction
+ * sont rejouées sur le nouvel index avant de le publier.
+ */
+@Component
+@Slf4j
+public class ChambreAvailabilityIndex {
+
+    private static final String SELECT_CHAMBRES = "SELECT id, type, foyer_id, disponible FROM chambre";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile Etat etat;
+    // Non null pendant une reconstruction : modifications à rejouer sur le nouvel état
+    private List<Modification> journal;
+
+    // ============================================
+    // CONSULTATION
+    // ============================================
+
+    /**
+     * L'index est-il chargé ? Sinon les appelants interrogent la base.
+     */
+    public boolean isReady() {
+        return etat != null;
+    }
+
+    public boolean isDisponible(Long chambreId) {
+        lock.readLock().lock();
+        try {
+            return etat != null && etat.isDisponible(chambreId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long countDisponibles(Long foyerId, ChambreType type) {
+        lock.readLock().lock();
+        try {
+            Groupe groupe = etat == null ? null : etat.groupe(foyerId, type);
+            return groupe == null ? 0 : groupe.disponibles;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long countTotalDisponibles() {
+        lock.readLock().lock();
+        try {
+            return etat == null ? 0 : etat.totalDisponibles();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Jusqu'à limit chambres disponibles (id), dans l'ordre de création
+     */
+    public List<Long> findDisponibles(Long foyerId, ChambreType type, int limit) {
+        lock.readLock().lock();
+        try {
+            Groupe groupe = etat == null ? null : etat.groupe(foyerId, type);
+            List<Long> ids = new ArrayList<>(Math.min(limit, groupe == null ? 0 : groupe.disponibles));
+            if (groupe != null) {
+                for (int slot = groupe.libres.nextSetBit(0); slot >= 0 && ids.size() < limit;
+                     slot = groupe.libres.nextSetBit(slot + 1)) {
+                    ids.add(groupe.ids[slot]);
+                }
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ============================================
+    // MISE À JOUR (appliquée après le commit)
+    // ============================================
+
+    /**
+     * Chambre créée, ou dont le foyer / le type a changé
+     */
+    public void chambreEnregistree(Long chambreId, Long foyerId, ChambreType type, boolean disponible) {
+        apresCommit(new Modification(Operation.ENREGISTREMENT, chambreId, foyerId, type, disponible));
+    }
+
+    public void chambreSupprimee(Long chambreId) {
+        apresCommit(new Modification(Operation.SUPPRESSION, chambreId, null, null, false));
+    }
+
+    public void disponibiliteModifiee(Long chambreId, boolean disponible) {
+        apresCommit(new Modification(Operation.DISPONIBILITE, chambreId, null, null, disponible));
+    }
+
+    private void apresCommit(Modification modification) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    appliquer(modification);
+                }
+            });
+        } else {
+            appliquer(modification);
+        }
+    }
+
+    private void appliquer(Modification modification) {
+        lock.writeLock().lock();
+        try {
+            if (etat != null) {
+                etat.appliquer(modification);
+            }
+            if (journal != null) {
+                journal.add(modification);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ============================================
+    // CHARGEMENT / RÉCONCILIATION
+    // ============================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void charger() {
+        long debut = System.currentTimeMillis();
+        reconstruire();
+        log.info("🗂️ Index de disponibilité chargé en {} ms : {} chambres disponibles",
+            System.currentTimeMillis() - debut, countTotalDisponibles());
+    }
+
+    @Scheduled(initialDelayString = "${chambres.index.reconcile-interval-ms:60000}",
+               fixedDelayString = "${chambres.index.reconcile-interval-ms:60000}")
+    public void reconcilier() {
+        Etat ancien = etat;
+        Etat nouveau = reconstruire();
+        long ecarts;
+        lock.readLock().lock();
+        try {
+            ecarts = ancien == null ? 0 : ancien.ecarts(nouveau);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (ecarts > 0) {
+            log.warn("⚠️ Index de disponibilité : {} chambres corrigées par la réconciliation", ecarts);
+        }
+    }
+
+    // synchronized : une seule reconstruction à la fois (le journal est partagé)
+    private synchronized Etat reconstruire() {
+        lock.writeLock().lock();
+        try {
+            journal = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Etat nouveau = new Etat();
+        try {
+            jdbcTemplate.query(SELECT_CHAMBRES, rs -> {
+                nouveau.appliquer(new Modification(Operation.ENREGISTREMENT, rs.getLong("id"), rs.getLong("foyer_id"),
+                    ChambreType.valueOf(rs.getString("type")), rs.getBoolean("disponible")));
+            });
+        } catch (RuntimeException e) {
+            // On garde l'index actuel
+            lock.writeLock().lock();
+            try {
+                journal = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            journal.forEach(nouveau::appliquer);
+            journal = null;
+            etat = nouveau;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return nouveau;
+    }
+
+    // ============================================
+    // STRUCTURES
+    // ============================================
+
+    private enum Operation { ENREGISTREMENT, DISPONIBILITE, SUPPRESSION }
+
+    // Les modifications portent l'état final, pas un delta : les rejouer deux fois est sans effet
+    private record Modification(Operation operation, Long chambreId, Long foyerId, ChambreType type,
+                                boolean disponible) {
+    }
+
+    private static final class Etat {
+        final Map<Long, EnumMap<ChambreType, Groupe>> groupes = new HashMap<>();
+        final Map<Long, Emplacement> emplacements = new HashMap<>();
+
+        Groupe groupe(Long foyerId, ChambreType type) {
+            EnumMap<ChambreType, Groupe> parType = groupes.get(foyerId);
+            return parType == null ? null : parType.get(type);
+        }
+
+        boolean isDisponible(Long chambreId) {
+            Emplacement e = emplacements.get(chambreId);
+            return e != null && e.groupe().libres.get(e.slot());
+        }
+
+        void appliquer(Modification m) {
+            Emplacement actuel = emplacements.get(m.chambreId());
+            switch (m.operation()) {
+                case DISPONIBILITE -> {
+                    if (actuel != null) {
+                        actuel.groupe().marquer(actuel.slot(), m.disponible());
+                    }
+                }
+                case SUPPRESSION -> retirer(m.chambreId(), actuel);
+                case ENREGISTREMENT -> {
+                    Groupe groupe = groupes.computeIfAbsent(m.foyerId(), f -> new EnumMap<>(ChambreType.class))
+                        .computeIfAbsent(m.type(), t -> new Groupe());
+                    if (actuel == null || actuel.groupe() != groupe) {
+                        retirer(m.chambreId(), actuel);
+                        actuel = new Emplacement(groupe, groupe.ajouter(m.chambreId()));
+                        emplacements.put(m.chambreId(), actuel);
+                    }
+                    groupe.marquer(actuel.slot(), m.disponible());
+                }
+            }
+        }
+
+        private void retirer(Long chambreId, Emplacement actuel) {
+            if (actuel != null) {
+                // La case reste vide jusqu'à la prochaine reconstruction
+                actuel.groupe().marquer(actuel.slot(), false);
+                emplacements.remove(chambreId);
+            }
+        }
+
+        long totalDisponibles() {
+            long total = 0;
+            for (EnumMap<ChambreType, Groupe> parType : groupes.values()) {
+                for (Groupe groupe : parType.values()) {
+                    total += groupe.disponibles;
+                }
+            }
+            return total;
+        }
+
+        /**
+         * Nombre de chambres dont la présence ou la disponibilité diffère entre les deux états
+         */
+        long ecarts(Etat autre) {
+            long ecarts = 0;
+            for (Long id : emplacements.keySet()) {
+                if (!autre.emplacements.containsKey(id) || isDisponible(id) != autre.isDisponible(id)) {
+                    ecarts++;
+                }
+            }
+            for (Long id : autre.emplacements.keySet()) {
+                if (!emplacements.containsKey(id)) {
+                    ecarts++;
+                }
+            }
+            return ecarts;
+        }
+    }
+
+    /**
+     * Chambres d'un foyer et d'un type : case -> id de chambre, et bit à 1 si disponible
+     */
+    private static final class Groupe {
+        long[] ids = new long[16];
+        int taille;
+        final BitSet libres = new BitSet();
+        int disponibles;
+
+        int ajouter(long chambreId) {
+            if (taille == ids.length) {
+                ids = Arrays.copyOf(ids, taille * 2);
+            }
+            ids[taille] = chambreId;
+            return taille++;
+        }
+
+        void marquer(int slot, boolean disponible) {
+            if (libres.get(slot) != disponible) {
+                libres.set(slot, disponible);
+                disponibles += disponible ? 1 : -1;
+            }
+        }
+    }
+
+    private record Emplacement(Groupe groupe, int slot) {
+    }
+}
@@ -14,6 +14,7 @@ public class ChambreService {
 
     private final ChambreRepository chambreRepository;
     private final UserClient userClient;
+    private final HousingService housingService;
 
     public Chambre affecterChambre(Long chambreId, String userId) {
         // Vérifier que la chambre existe
@@ -26,11 +27,8 @@ public class ChambreService {
             throw new RuntimeException("Utilisateur non trouvé avec id: " + userId);
         }
 
-        // Affecter la chambre
-        chambre.setUserId(String.valueOf(user.getId())); // On convertit en String si nécessaire
-        chambre.setDisponible(false);
-
-        return chambreRepository.save(chambre);
+        // Affecter la chambre (UPDATE conditionnel, 409 si déjà prise)
+        return housingService.assignChambreToUser(chambre.getId(), String.valueOf(user.getId()), user.getUsername());
     }
 
 
@@ -0,0 +1,68 @@
+package com.ski.eduka.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Cache court des statistiques de tous les foyers (HousingService.getAllFoyerStats).
+ *
+ * Vidé par chaque affectation / libération / modification de chambre ou de foyer, une première
+ * fois tout de suite puis après la fin de la transaction : un rechargement lancé avant le commit
+ * ne peut pas remettre en cache des chiffres périmés (compteur de génération).
+ * Les écritures faites hors HousingService restent visibles au plus tard après le TTL.
+ */
+@Component
+public class FoyerStatsCache {
+
+    @Value("${foyer.stats.cache-ttl-ms:10000}")
+    private long ttlMs;
+
+    private long generation;
+    private volatile Snapshot snapshot;
+
+    public Map<Long, HousingService.FoyerStats> get(Supplier<Map<Long, HousingService.FoyerStats>> loader) {
+        Snapshot courant = snapshot;
+        if (courant != null && System.currentTimeMillis() < courant.expireA()) {
+            return courant.stats();
+        }
+        long gen = generationCourante();
+        Map<Long, HousingService.FoyerStats> stats = loader.get();
+        stocker(gen, stats);
+        return stats;
+    }
+
+    public void invalidate() {
+        vider();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    vider();
+                }
+            });
+        }
+    }
+
+    private synchronized long generationCourante() {
+        return generation;
+    }
+
+    private synchronized void stocker(long gen, Map<Long, HousingService.FoyerStats> stats) {
+        if (generation == gen) {
+            snapshot = new Snapshot(stats, System.currentTimeMillis() + ttlMs);
+        }
+    }
+
+    private synchronized void vider() {
+        generation++;
+        snapshot = null;
+    }
+
+    private record Snapshot(Map<Long, HousingService.FoyerStats> stats, long expireA) {
+    }
+}
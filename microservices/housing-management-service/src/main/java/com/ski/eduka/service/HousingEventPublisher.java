@@ -0,0 +1,330 @@
+package com.ski.eduka.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ski.eduka.config.RabbitMQConfig;
+import com.ski.eduka.dto.NotificationMessageDTO;
+import com.ski.eduka.entity.Chambre;
+import com.ski.eduka.enums.ChambreType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publication asynchrone des notifications logement vers notification-service
+ * (notification.exchange, clé notification.housing).
+ *
+ * Les services déposent l'événement après le commit dans une file mémoire bornée, sans jamais
+ * attendre RabbitMQ : rien n'est envoyé pour une transaction annulée, et une file pleine fait
+ * perdre l'événement (compté) plutôt que ralentir la requête. Un thread dédié vide la file par
+ * lots et attend la confirmation du broker (publisher confirms) pour chaque lot ; un lot non
+ * confirmé est renvoyé avec un délai croissant, puis abandonné après housing.events.max-attempts.
+ * Livraison au moins une fois : le messageId permet au consommateur de dédoublonner.
+ */
+@Component
+@Slf4j
+public class HousingEventPublisher {
+
+    private static final String TYPE = "HOUSING";
+    // File pleine : au plus un WARN par intervalle, le détail est dans housing.events.dropped
+    private static final long ALERTE_PERTE_INTERVALLE_MS = 10_000;
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${housing.events.enabled:true}")
+    private boolean enabled;
+
+    @Value("${housing.events.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${housing.events.batch-size:100}")
+    private int batchSize;
+
+    @Value("${housing.events.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${housing.events.retry-backoff-ms:1000}")
+    private long retryBackoffMs;
+
+    @Value("${housing.events.confirm-timeout-ms:5000}")
+    private long confirmTimeoutMs;
+
+    @Value("${housing.events.shutdown-timeout-ms:5000}")
+    private long shutdownTimeoutMs;
+
+    private BlockingQueue<Evenement> file;
+    private Thread publicateur;
+    private volatile boolean actif;
+    // Lot en cours d'envoi : compté dans le backlog tant qu'il n'est pas confirmé
+    private volatile int enCours;
+    private volatile long enCoursDepuis;
+    private final AtomicLong perduesDepuisAlerte = new AtomicLong();
+    private final AtomicLong derniereAlerte = new AtomicLong();
+
+    private Counter publishedCounter;
+    private Counter publishFailureCounter;
+    private Counter droppedCounter;
+    private Timer deliveryLagTimer;
+
+    @PostConstruct
+    void demarrer() {
+        file = new LinkedBlockingQueue<>(queueCapacity);
+
+        Gauge.builder("housing.events.pending", this, HousingEventPublisher::backlog)
+            .description("Notifications logement en attente de confirmation du broker")
+            .register(meterRegistry);
+        Gauge.builder("housing.events.lag.seconds", this, HousingEventPublisher::ancienneteSecondes)
+            .description("Âge de la plus ancienne notification non confirmée")
+            .register(meterRegistry);
+        publishedCounter = Counter.builder("housing.events.published")
+            .description("Notifications confirmées par le broker")
+            .register(meterRegistry);
+        publishFailureCounter = Counter.builder("housing.events.publish.failures")
+            .description("Notifications d'un lot dont l'envoi a échoué")
+            .register(meterRegistry);
+        droppedCounter = Counter.builder("housing.events.dropped")
+            .description("Notifications perdues (file pleine ou tentatives épuisées)")
+            .register(meterRegistry);
+        deliveryLagTimer = Timer.builder("housing.events.delivery.lag")
+            .description("Délai entre le commit et la confirmation du broker")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+
+        if (!enabled) {
+            log.info("📭 Publication des notifications logement désactivée (housing.events.enabled=false)");
+            return;
+        }
+        actif = true;
+        publicateur = new Thread(this::boucler, "housing-events-publisher");
+        publicateur.setDaemon(true);
+        publicateur.start();
+    }
+
+    @PreDestroy
+    void arreter() throws InterruptedException {
+        if (publicateur == null) {
+            return;
+        }
+        // On laisse le thread vider la file, dans la limite du délai
+        actif = false;
+        publicateur.join(shutdownTimeoutMs);
+        if (publicateur.isAlive()) {
+            publicateur.interrupt();
+            log.warn("⚠️ Arrêt : {} notifications logement non publiées", backlog());
+        }
+    }
+
+    // ============================================
+    // ÉVÉNEMENTS
+    // ============================================
+
+    public void chambreAssignee(String userId, Chambre chambre, boolean depuisListeAttente) {
+        publier(userId, "Chambre attribuée",
+                "Un lit vous a été attribué dans la chambre " + chambre.getNumero()
+                        + (depuisListeAttente ? " (liste d'attente)." : "."),
+                chambre.getNumero(),
+                infos(depuisListeAttente ? "WAITLIST_ASSIGNED" : "ASSIGNED", chambre));
+    }
+
+    public void litLibere(String userId, Chambre chambre) {
+        publier(userId, "Chambre libérée",
+                "Votre lit dans la chambre " + chambre.getNumero() + " a été libéré.",
+                chambre.getNumero(),
+                infos("UNASSIGNED", chambre));
+    }
+
+    public void inscriptionAttente(String userId, Long foyerId, ChambreType type, long position) {
+        publier(userId, "Inscription sur liste d'attente",
+                "Vous êtes en position " + position + " sur la liste d'attente " + type + ".",
+                null,
+                "event=WAITLIST_JOINED;foyerId=" + foyerId + ";type=" + type + ";position=" + position);
+    }
+
+    public void attenteQuittee(String userId, Long foyerId, ChambreType type) {
+        publier(userId, "Liste d'attente quittée",
+                "Vous avez quitté la liste d'attente " + type + ".",
+                null,
+                "event=WAITLIST_LEFT;foyerId=" + foyerId + ";type=" + type);
+    }
+
+    private String infos(String evenement, Chambre chambre) {
+        return "event=" + evenement + ";chambreId=" + chambre.getId()
+                + ";foyerId=" + (chambre.getFoyer() != null ? chambre.getFoyer().getId() : null)
+                + ";type=" + chambre.getType();
+    }
+
+    private void publier(String userId, String sujet, String message, String numero, String infos) {
+        if (!enabled) {
+            return;
+        }
+        NotificationMessageDTO.NotificationDetails details = new NotificationMessageDTO.NotificationDetails();
+        details.setRoomNumber(numero);
+        details.setAdditionalInfo(infos);
+
+        NotificationMessageDTO notification = new NotificationMessageDTO();
+        notification.setUserId(userId);
+        notification.setType(TYPE);
+        notification.setSubject(sujet);
+        notification.setMessage(message);
+        notification.setTimestamp(LocalDateTime.now());
+        notification.setDetails(details);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deposer(notification);
+                }
+            });
+        } else {
+            deposer(notification);
+        }
+    }
+
+    private void deposer(NotificationMessageDTO notification) {
+        if (!file.offer(new Evenement(UUID.randomUUID().toString(), notification, System.currentTimeMillis()))) {
+            droppedCounter.increment();
+            perduesDepuisAlerte.incrementAndGet();
+            long maintenant = System.currentTimeMillis();
+            long derniere = derniereAlerte.get();
+            if (maintenant - derniere >= ALERTE_PERTE_INTERVALLE_MS && derniereAlerte.compareAndSet(derniere, maintenant)) {
+                log.warn("⚠️ File des notifications logement pleine ({}), {} notification(s) perdue(s) depuis la dernière alerte",
+                        queueCapacity, perduesDepuisAlerte.getAndSet(0));
+            }
+        }
+    }
+
+    // ============================================
+    // THREAD DE PUBLICATION
+    // ============================================
+
+    private void boucler() {
+        List<Evenement> lot = new ArrayList<>(batchSize);
+        int tentatives = 0;
+        while (actif || !file.isEmpty() || !lot.isEmpty()) {
+            try {
+                if (lot.isEmpty()) {
+                    Evenement premier = file.poll(200, TimeUnit.MILLISECONDS);
+                    if (premier == null) {
+                        continue;
+                    }
+                    lot.add(premier);
+                    file.drainTo(lot, batchSize - 1);
+                    enCoursDepuis = premier.creeLe();
+                    enCours = lot.size();
+                }
+
+                envoyer(lot);
+                long maintenant = System.currentTimeMillis();
+                lot.forEach(e -> deliveryLagTimer.record(maintenant - e.creeLe(), TimeUnit.MILLISECONDS));
+                publishedCounter.increment(lot.size());
+                log.debug("✅ {} notifications logement publiées", lot.size());
+                lot.clear();
+                enCours = 0;
+                tentatives = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                publishFailureCounter.increment(lot.size());
+                if (++tentatives >= maxAttempts) {
+                    droppedCounter.increment(lot.size());
+                    log.error("❌ {} notifications logement abandonnées après {} tentatives : {}",
+                            lot.size(), tentatives, e.getMessage());
+                    lot.clear();
+                    enCours = 0;
+                    tentatives = 0;
+                    continue;
+                }
+                log.warn("❌ Échec de publication de {} notifications logement (tentative {}/{}) : {}",
+                        lot.size(), tentatives, maxAttempts, e.getMessage());
+                try {
+                    Thread.sleep(retryBackoffMs * tentatives);
+                } catch (InterruptedException interrompu) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Un lot sur un seul canal, puis attente de la confirmation du broker pour tout le lot
+     */
+    private void envoyer(List<Evenement> lot) {
+        rabbitTemplate.invoke(operations -> {
+            for (Evenement evenement : lot) {
+                operations.send(RabbitMQConfig.NOTIFICATION_EXCHANGE, RabbitMQConfig.HOUSING_ROUTING_KEY,
+                        toMessage(evenement));
+            }
+            operations.waitForConfirmsOrDie(confirmTimeoutMs);
+            return null;
+        });
+    }
+
+    private Message toMessage(Evenement evenement) {
+        try {
+            return MessageBuilder.withBody(objectMapper.writeValueAsBytes(evenement.notification()))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding("UTF-8")
+                .setMessageId("housing-" + evenement.id())
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Notification logement non sérialisable : " + e.getMessage(), e);
+        }
+    }
+
+    // ============================================
+    // MÉTRIQUES
+    // ============================================
+
+    /**
+     * Notifications déposées et pas encore confirmées
+     */
+    public int backlog() {
+        return (file == null ? 0 : file.size()) + enCours;
+    }
+
+    private double ancienneteSecondes() {
+        long depuis = enCours > 0 ? enCoursDepuis : 0;
+        if (depuis == 0) {
+            Evenement tete = file.peek();
+            depuis = tete == null ? 0 : tete.creeLe();
+        }
+        return depuis == 0 ? 0 : (System.currentTimeMillis() - depuis) / 1000.0;
+    }
+
+    private record Evenement(String id, NotificationMessageDTO notification, long creeLe) {
+    }
+}
@@ -2,15 +2,26 @@ package com.ski.eduka.service;
 
 import com.ski.eduka.entity.Chambre;
 import com.ski.eduka.entity.Foyer;
+import com.ski.eduka.entity.Occupation;
 import com.ski.eduka.enums.ChambreType;
 import com.ski.eduka.repository.ChambreRepository;
 import com.ski.eduka.repository.FoyerRepository;
+import com.ski.eduka.repository.OccupationRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional
@@ -23,6 +34,21 @@ public class HousingService {
     @Autowired
     private ChambreRepository chambreRepository;
 
+    @Autowired
+    private OccupationRepository occupationRepository;
+
+    @Autowired
+    private FoyerStatsCache foyerStatsCache;
+
+    @Autowired
+    private ChambreAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private HousingEventPublisher eventPublisher;
+
     // ============================================
     // CRUD FOYER (ADMIN ONLY)
     // ============================================
@@ -32,6 +58,7 @@ public class HousingService {
      */
     public Foyer createFoyer(Foyer foyer) {
         log.info("🏢 Création d'un nouveau foyer: {}", foyer.getNom());
+        foyerStatsCache.invalidate();
         return foyerRepository.save(foyer);
     }
 
@@ -47,6 +74,7 @@ public class HousingService {
         foyer.setCapacite(foyerDetails.getCapacite());
 
         log.info("✏️ Mise à jour du foyer ID {}: {}", id, foyer.getNom());
+        foyerStatsCache.invalidate();
         return foyerRepository.save(foyer);
     }
 
@@ -57,13 +85,23 @@ public class HousingService {
         Foyer foyer = foyerRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Foyer non trouvé avec l'ID: " + id));
 
+        if (foyer.getChambres() != null && foyer.getChambres().stream().anyMatch(Chambre::isAssigned)) {
+            throw new RuntimeException("Impossible de supprimer un foyer dont des chambres sont occupées. Libérez-les d'abord.");
+        }
+
         log.info("🗑️ Suppression du foyer ID {}: {}", id, foyer.getNom());
+        foyerStatsCache.invalidate();
+        if (foyer.getChambres() != null) {
+            foyer.getChambres().forEach(chambre -> availabilityIndex.chambreSupprimee(chambre.getId()));
+        }
+        waitlistService.supprimerFoyer(id);
         foyerRepository.delete(foyer);
     }
 
     /**
      * Obtenir un foyer par ID
      */
+    @Transactional(readOnly = true)
     public Foyer getFoyer(Long id) {
         return foyerRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Foyer non trouvé avec l'ID: " + id));
@@ -72,6 +110,7 @@ public class HousingService {
     /**
      * Obtenir tous les foyers
      */
+    @Transactional(readOnly = true)
     public List<Foyer> getAllFoyers() {
         return foyerRepository.findAll();
     }
@@ -79,6 +118,7 @@ public class HousingService {
     /**
      * Rechercher des foyers par nom
      */
+    @Transactional(readOnly = true)
     public List<Foyer> searchFoyersByName(String nom) {
         return foyerRepository.findByNomContainingIgnoreCase(nom);
     }
@@ -89,9 +129,13 @@ public class HousingService {
 
     /**
      * Créer une chambre dans un foyer
+     *
+     * Ses lits vont d'abord aux inscrits de la liste d'attente (foyer verrouillé, comme pour une
+     * libération).
      */
     public Chambre createChambre(Long foyerId, Chambre chambre) {
-        Foyer foyer = getFoyer(foyerId);
+        Foyer foyer = foyerRepository.lockById(foyerId)
+                .orElseThrow(() -> new RuntimeException("Foyer non trouvé avec l'ID: " + foyerId));
 
         // Vérifier si le numéro existe déjà dans ce foyer
         if (chambreRepository.existsByNumeroAndFoyerId(chambre.getNumero(), foyerId)) {
@@ -100,23 +144,39 @@ public class HousingService {
 
         chambre.setFoyer(foyer);
         chambre.setDisponible(true);
+        chambre.setLitsOccupes(0);
 
         log.info("🛏️ Création d'une chambre {} dans le foyer {}", chambre.getNumero(), foyer.getNom());
-        return chambreRepository.save(chambre);
+        foyerStatsCache.invalidate();
+        Chambre saved = chambreRepository.save(chambre);
+        availabilityIndex.chambreEnregistree(saved.getId(), foyerId, saved.getType(), true);
+        return servirListeAttente(saved, saved.getCapacite());
     }
 
     /**
      * Mettre à jour une chambre
+     *
+     * Par UPDATE ciblé : une sauvegarde de l'entité réécrirait litsOccupes avec une valeur
+     * lue avant d'éventuelles affectations concurrentes. Les lits libres (capacité augmentée,
+     * type changé) vont ensuite à la liste d'attente du foyer.
      */
     public Chambre updateChambre(Long id, Chambre chambreDetails) {
         Chambre chambre = chambreRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Chambre non trouvée avec l'ID: " + id));
 
-        chambre.setNumero(chambreDetails.getNumero());
-        chambre.setType(chambreDetails.getType());
+        verrouillerFoyer(chambre);
+
+        int capacite = chambreDetails.getCapacite() > 0 ? chambreDetails.getCapacite() : chambreDetails.getType().getLits();
+        if (chambreRepository.updateNumeroTypeCapacite(id, chambreDetails.getNumero(), chambreDetails.getType(), capacite) == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "La chambre " + chambre.getNumero() + " a plus d'occupants que " + capacite + " lit(s)");
+        }
 
         log.info("✏️ Mise à jour de la chambre ID {}", id);
-        return chambreRepository.save(chambre);
+        foyerStatsCache.invalidate();
+        Chambre updated = getChambre(id);
+        availabilityIndex.chambreEnregistree(id, updated.getFoyer().getId(), updated.getType(), updated.isDisponible());
+        return servirListeAttente(updated, updated.getLitsLibres());
     }
 
     /**
@@ -131,6 +191,8 @@ public class HousingService {
         }
 
         log.info("🗑️ Suppression de la chambre ID {}", id);
+        foyerStatsCache.invalidate();
+        availabilityIndex.chambreSupprimee(id);
         chambreRepository.delete(chambre);
     }
 
@@ -139,32 +201,49 @@ public class HousingService {
     // ============================================
 
     /**
-     * Assigner une chambre à un utilisateur
+     * Assigner un lit d'une chambre à un utilisateur
+     *
+     * Le compteur de lits occupés est incrémenté par un seul UPDATE conditionnel
+     * (litsOccupes < capacite) : des affectations concurrentes sur le dernier lit n'en obtiennent
+     * qu'un, sans surréservation. La contrainte unique sur Occupation.user_id empêche un étudiant
+     * d'obtenir deux lits. Les perdants reçoivent 409 CONFLICT et rien n'est écrit.
      */
     public Chambre assignChambreToUser(Long chambreId, String userId, String userName) {
-        Chambre chambre = chambreRepository.findById(chambreId)
-                .orElseThrow(() -> new RuntimeException("Chambre non trouvée avec l'ID: " + chambreId));
-
-        // Vérifier si la chambre est déjà assignée
-        if (chambre.isAssigned()) {
-            throw new RuntimeException("Cette chambre est déjà assignée à l'utilisateur: " + chambre.getUserName());
+        try {
+            if (chambreRepository.occuperLit(chambreId) == 0) {
+                Chambre chambre = chambreRepository.findById(chambreId)
+                        .orElseThrow(() -> new RuntimeException("Chambre non trouvée avec l'ID: " + chambreId));
+                throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "Plus aucun lit libre dans la chambre " + chambre.getNumero());
+            }
+            occupationRepository.saveAndFlush(Occupation.builder()
+                    .chambre(chambreRepository.getReferenceById(chambreId))
+                    .userId(userId)
+                    .userName(userName)
+                    .dateAffectation(LocalDateTime.now())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "L'utilisateur " + userName + " a déjà une chambre assignée");
+        } catch (ConcurrencyFailureException e) {
+            // Verrou non obtenu à temps sur la ligne ou l'index unique
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Affectation concurrente en cours sur la chambre " + chambreId + ", réessayez");
         }
 
-        // Vérifier si l'utilisateur a déjà une chambre
-        chambreRepository.findByUserId(userId).ifPresent(existingChambre -> {
-            throw new RuntimeException("L'utilisateur " + userName + " a déjà une chambre assignée (N°" + existingChambre.getNumero() + ")");
-        });
-
-        chambre.assignToUser(userId, userName);
+        Chambre chambre = getChambre(chambreId);
 
-        log.info("✅ Chambre {} assignée à l'utilisateur {} (ID: {})",
-                chambre.getNumero(), userName, userId);
+        log.info("✅ Lit de la chambre {} assigné à l'utilisateur {} (ID: {}), {}/{} lits occupés",
+                chambre.getNumero(), userName, userId, chambre.getLitsOccupes(), chambre.getCapacite());
+        foyerStatsCache.invalidate();
+        availabilityIndex.disponibiliteModifiee(chambreId, chambre.isDisponible());
+        eventPublisher.chambreAssignee(userId, chambre, false);
 
-        return chambreRepository.save(chambre);
+        return chambre;
     }
 
     /**
-     * Libérer une chambre (désaffectation)
+     * Libérer une chambre (tous ses lits)
      */
     public Chambre unassignChambre(Long chambreId) {
         Chambre chambre = chambreRepository.findById(chambreId)
@@ -174,13 +253,68 @@ public class HousingService {
             throw new RuntimeException("Cette chambre n'est pas assignée");
         }
 
-        String previousUser = chambre.getUserName();
-        chambre.unassign();
+        // Verrou du foyer avant celui de la chambre, dans le même ordre que WaitlistService
+        verrouillerFoyer(chambre);
+        // Le compteur d'abord : la ligne est verrouillée, aucune affectation ne peut s'intercaler
+        chambreRepository.libererTousLesLits(chambreId);
+        List<Occupation> occupants = occupationRepository.findByChambreIdOrderByDateAffectationAsc(chambreId);
+        int liberes = occupationRepository.deleteByChambre(chambreId);
+
+        log.info("🔓 Chambre {} libérée ({} occupant(s))", chambre.getNumero(), liberes);
+        occupants.forEach(occupant -> eventPublisher.litLibere(occupant.getUserId(), chambre));
+        return servirListeAttente(chambre, liberes);
+    }
+
+    /**
+     * Libérer le lit d'un occupant
+     */
+    public Chambre unassignOccupant(Long chambreId, String userId) {
+        Chambre chambre = chambreRepository.findById(chambreId)
+                .orElseThrow(() -> new RuntimeException("Chambre non trouvée avec l'ID: " + chambreId));
+
+        verrouillerFoyer(chambre);
+        if (chambreRepository.libererLit(chambreId) == 0) {
+            throw new RuntimeException("Cette chambre n'est pas assignée");
+        }
+        if (occupationRepository.deleteOccupant(chambreId, userId) == 0) {
+            // La transaction est annulée, le compteur reste inchangé
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    "L'utilisateur " + userId + " n'occupe pas la chambre " + chambreId);
+        }
+
+        log.info("🔓 Lit de la chambre {} libéré (précédemment occupé par {})", chambre.getNumero(), userId);
+        eventPublisher.litLibere(userId, chambre);
+        return servirListeAttente(chambre, 1);
+    }
+
+    private void verrouillerFoyer(Chambre chambre) {
+        if (chambre.getFoyer() != null) {
+            foyerRepository.lockById(chambre.getFoyer().getId());
+        }
+    }
+
+    /**
+     * Lits libres : d'abord aux premiers de la liste d'attente du foyer pour ce type de chambre
+     */
+    private Chambre servirListeAttente(Chambre chambre, int litsLiberes) {
+        if (chambre.getFoyer() != null && litsLiberes > 0) {
+            waitlistService.attribuerLitsLiberes(chambre.getId(), chambre.getFoyer().getId(),
+                    chambre.getType(), litsLiberes);
+        }
 
-        log.info("🔓 Chambre {} libérée (précédemment assignée à {})",
-                chambre.getNumero(), previousUser);
+        Chambre apres = getChambre(chambre.getId());
+        foyerStatsCache.invalidate();
+        // Enregistré en dernier : c'est l'état final qui est appliqué à l'index après le commit
+        availabilityIndex.disponibiliteModifiee(apres.getId(), apres.isDisponible());
+        return apres;
+    }
 
-        return chambreRepository.save(chambre);
+    /**
+     * Obtenir les occupants d'une chambre
+     */
+    @Transactional(readOnly = true)
+    public List<Occupation> getOccupants(Long chambreId) {
+        return occupationRepository.findByChambreIdOrderByDateAffectationAsc(chambreId);
     }
 
     // ============================================
@@ -190,14 +324,16 @@ public class HousingService {
     /**
      * Obtenir la chambre assignée à un utilisateur
      */
+    @Transactional(readOnly = true)
     public Chambre getChambreByUserId(String userId) {
-        return chambreRepository.findByUserId(userId)
+        return chambreRepository.findByOccupantUserId(userId)
                 .orElse(null); // Retourne null si aucune chambre n'est assignée
     }
 
     /**
-     * Obtenir toutes les chambres disponibles
+     * Obtenir toutes les chambres disponibles (au moins un lit libre, voir litsLibres)
      */
+    @Transactional(readOnly = true)
     public List<Chambre> getAvailableChambres() {
         return chambreRepository.findByDisponibleTrue();
     }
@@ -205,13 +341,46 @@ public class HousingService {
     /**
      * Obtenir les chambres disponibles par type
      */
+    @Transactional(readOnly = true)
     public List<Chambre> getAvailableChambresByType(ChambreType type) {
         return chambreRepository.findByDisponibleTrueAndType(type);
     }
 
+    /**
+     * Trouver une chambre disponible d'un type dans un foyer (choix en libre-service)
+     *
+     * Les candidats viennent de l'index de disponibilité, sans requête ; seule la chambre
+     * retenue est relue (par clé) pour confirmer qu'elle est toujours libre.
+     */
+    @Transactional(readOnly = true)
+    public Chambre findAvailableChambre(Long foyerId, ChambreType type) {
+        if (availabilityIndex.isReady()) {
+            for (Long id : availabilityIndex.findDisponibles(foyerId, type, 5)) {
+                Chambre chambre = chambreRepository.findById(id).orElse(null);
+                if (chambre != null && chambre.isDisponible()) {
+                    return chambre;
+                }
+            }
+        }
+        // Index pas encore chargé ou en retard sur la base
+        return chambreRepository.findFirstByFoyerIdAndTypeAndDisponibleTrueOrderByIdAsc(foyerId, type).orElse(null);
+    }
+
+    /**
+     * Compter les chambres disponibles d'un type dans un foyer
+     */
+    @Transactional(readOnly = true)
+    public long countAvailableChambres(Long foyerId, ChambreType type) {
+        if (availabilityIndex.isReady()) {
+            return availabilityIndex.countDisponibles(foyerId, type);
+        }
+        return chambreRepository.countByFoyerIdAndTypeAndDisponibleTrue(foyerId, type);
+    }
+
     /**
      * Obtenir toutes les chambres d'un foyer
      */
+    @Transactional(readOnly = true)
     public List<Chambre> getChambresByFoyer(Long foyerId) {
         return chambreRepository.findByFoyerId(foyerId);
     }
@@ -219,6 +388,7 @@ public class HousingService {
     /**
      * Obtenir toutes les chambres
      */
+    @Transactional(readOnly = true)
     public List<Chambre> getAllChambres() {
         return chambreRepository.findAll();
     }
@@ -226,6 +396,7 @@ public class HousingService {
     /**
      * Obtenir une chambre par ID
      */
+    @Transactional(readOnly = true)
     public Chambre getChambre(Long id) {
         return chambreRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Chambre non trouvée avec l'ID: " + id));
@@ -235,40 +406,91 @@ public class HousingService {
     // STATISTIQUES (ADMIN)
     // ============================================
 
+    /**
+     * Obtenir les statistiques de tous les foyers
+     *
+     * Une seule requête GROUP BY (foyer, type) pour tout le tableau de bord, gardée quelques
+     * secondes en cache (foyer.stats.cache-ttl-ms) et invalidée par les affectations.
+     */
+    @Transactional(readOnly = true)
+    public List<FoyerStats> getAllFoyerStats() {
+        return new ArrayList<>(foyerStatsCache.get(this::calculerStats).values());
+    }
+
     /**
      * Obtenir les statistiques d'un foyer
      */
+    @Transactional(readOnly = true)
     public FoyerStats getFoyerStats(Long foyerId) {
-        Foyer foyer = getFoyer(foyerId);
-        long totalChambres = chambreRepository.findByFoyerId(foyerId).size();
-        long availableChambres = chambreRepository.countAvailableChambresByFoyer(foyerId);
-        long occupiedChambres = totalChambres - availableChambres;
-
-        return new FoyerStats(
-                foyer.getNom(),
-                totalChambres,
-                availableChambres,
-                occupiedChambres,
-                foyer.getCapacite()
-        );
+        FoyerStats stats = foyerStatsCache.get(this::calculerStats).get(foyerId);
+        if (stats == null) {
+            throw new RuntimeException("Foyer non trouvé avec l'ID: " + foyerId);
+        }
+        return stats;
+    }
+
+    private Map<Long, FoyerStats> calculerStats() {
+        Map<Long, FoyerStats> stats = new LinkedHashMap<>();
+        for (FoyerRepository.ChambreCount ligne : foyerRepository.countChambresParFoyerEtType()) {
+            FoyerStats foyer = stats.computeIfAbsent(ligne.getFoyerId(),
+                    id -> new FoyerStats(id, ligne.getNom(), ligne.getCapacite()));
+            if (ligne.getType() != null) {
+                foyer.ajouter(ligne.getType(), ligne.getTotal(), ligne.getDisponibles(), ligne.getLits(), ligne.getLitsOccupes());
+            }
+        }
+        return stats;
     }
 
     /**
      * Classe interne pour les statistiques
      */
     public static class FoyerStats {
+        public Long foyerId;
         public String nom;
         public long totalChambres;
         public long chambresDisponibles;
         public long chambresOccupees;
         public int capaciteMax;
+        public long totalLits;
+        public long litsLibres;
+        public long litsOccupes;
+        public Map<ChambreType, TypeStats> parType = new EnumMap<>(ChambreType.class);
 
-        public FoyerStats(String nom, long total, long disponibles, long occupees, int capaciteMax) {
+        public FoyerStats(Long foyerId, String nom, Integer capaciteMax) {
+            this.foyerId = foyerId;
             this.nom = nom;
-            this.totalChambres = total;
-            this.chambresDisponibles = disponibles;
-            this.chambresOccupees = occupees;
-            this.capaciteMax = capaciteMax;
+            this.capaciteMax = capaciteMax == null ? 0 : capaciteMax;
+        }
+
+        void ajouter(ChambreType type, long total, long disponibles, long lits, long occupes) {
+            parType.put(type, new TypeStats(total, disponibles, total - disponibles, lits, lits - occupes, occupes));
+            this.totalChambres += total;
+            this.chambresDisponibles += disponibles;
+            this.chambresOccupees += total - disponibles;
+            this.totalLits += lits;
+            this.litsLibres += lits - occupes;
+            this.litsOccupes += occupes;
+        }
+    }
+
+    /**
+     * Compteurs d'un type de chambre dans un foyer (chambres "disponibles" = au moins un lit libre)
+     */
+    public static class TypeStats {
+        public long total;
+        public long disponibles;
+        public long occupees;
+        public long totalLits;
+        public long litsLibres;
+        public long litsOccupes;
+
+        public TypeStats(long total, long disponibles, long occupees, long totalLits, long litsLibres, long litsOccupes) {
+            this.total = total;
+            this.disponibles = disponibles;
+            this.occupees = occupees;
+            this.totalLits = totalLits;
+            this.litsLibres = litsLibres;
+            this.litsOccupes = litsOccupes;
         }
     }
 }
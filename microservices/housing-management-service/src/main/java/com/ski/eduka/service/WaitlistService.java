@@ -0,0 +1,225 @@
+package com.ski.eduka.service;
+
+import com.ski.eduka.dto.WaitlistResponse;
+import com.ski.eduka.entity.Chambre;
+import com.ski.eduka.entity.InscriptionAttente;
+import com.ski.eduka.entity.Occupation;
+import com.ski.eduka.enums.ChambreType;
+import com.ski.eduka.enums.WaitlistStatus;
+import com.ski.eduka.repository.ChambreRepository;
+import com.ski.eduka.repository.FoyerRepository;
+import com.ski.eduka.repository.InscriptionAttenteRepository;
+import com.ski.eduka.repository.OccupationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Listes d'attente par foyer et type de chambre.
+ *
+ * Garanties d'équité :
+ * - une file est servie strictement dans l'ordre d'inscription (dateInscription, puis id) ;
+ * - un étudiant n'a qu'une inscription (contrainte unique) et n'est servi qu'une fois ;
+ * - inscriptions et libérations d'un foyer prennent d'abord le verrou de la ligne foyer : une
+ *   libération sert la tête de file dans sa propre transaction, et une nouvelle inscription ne
+ *   reçoit directement un lit libre que si personne n'attend devant elle.
+ * Tout lit qui devient libre dans un foyer où l'on attend va d'abord à la file : libération,
+ * création de chambre, augmentation de capacité, lits laissés libres par l'allocation en masse.
+ * Les affectations faites directement par un admin (ou l'allocation en masse elle-même) ne
+ * passent pas par la file.
+ */
+@Service
+@Transactional
+@Slf4j
+public class WaitlistService {
+
+    @Autowired
+    private InscriptionAttenteRepository inscriptionRepository;
+
+    @Autowired
+    private FoyerRepository foyerRepository;
+
+    @Autowired
+    private ChambreRepository chambreRepository;
+
+    @Autowired
+    private OccupationRepository occupationRepository;
+
+    @Autowired
+    private FoyerStatsCache foyerStatsCache;
+
+    @Autowired
+    private ChambreAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private HousingEventPublisher eventPublisher;
+
+    /**
+     * S'inscrire sur la liste d'attente (ou obtenir tout de suite un lit si personne n'attend)
+     */
+    public WaitlistResponse rejoindre(Long foyerId, ChambreType type, String userId, String userName) {
+        foyerRepository.lockById(foyerId)
+                .orElseThrow(() -> new RuntimeException("Foyer non trouvé avec l'ID: " + foyerId));
+
+        if (occupationRepository.existsByUserId(userId)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "L'utilisateur " + userName + " a déjà une chambre assignée");
+        }
+
+        if (!inscriptionRepository.existsByFoyerIdAndType(foyerId, type)) {
+            Optional<Chambre> libre = chambreRepository.findFirstByFoyerIdAndTypeAndDisponibleTrueOrderByIdAsc(foyerId, type);
+            Chambre chambre = libre.isPresent() ? occuper(libre.get().getId(), userId, userName) : null;
+            if (chambre != null) {
+                log.info("✅ {} inscrit(e) sans attente : chambre {} ({}, foyer {})",
+                        userName, chambre.getNumero(), type, foyerId);
+                eventPublisher.chambreAssignee(userId, chambre, false);
+                return new WaitlistResponse(WaitlistStatus.ASSIGNED, foyerId, type, chambre.getId(), chambre.getNumero(), null);
+            }
+        }
+
+        InscriptionAttente inscription;
+        try {
+            inscription = inscriptionRepository.saveAndFlush(InscriptionAttente.builder()
+                    .foyerId(foyerId)
+                    .type(type)
+                    .userId(userId)
+                    .userName(userName)
+                    // Précision de la colonne TIMESTAMP : la date comparée par countDevant est celle stockée
+                    .dateInscription(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS))
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "L'utilisateur " + userName + " est déjà sur une liste d'attente");
+        }
+
+        long position = position(inscription);
+        log.info("⏳ {} inscrit(e) sur la liste d'attente {} du foyer {} (position {})", userName, type, foyerId, position);
+        eventPublisher.inscriptionAttente(userId, foyerId, type, position);
+        return new WaitlistResponse(WaitlistStatus.WAITING, foyerId, type, null, null, position);
+    }
+
+    /**
+     * Inscription en cours d'un étudiant, avec sa position (null si absent)
+     */
+    @Transactional(readOnly = true)
+    public WaitlistResponse getInscription(String userId) {
+        return inscriptionRepository.findByUserId(userId)
+                .map(i -> new WaitlistResponse(WaitlistStatus.WAITING, i.getFoyerId(), i.getType(), null, null, position(i)))
+                .orElse(null);
+    }
+
+    /**
+     * Quitter la liste d'attente
+     */
+    public void quitter(String userId) {
+        InscriptionAttente inscription = inscriptionRepository.findByUserId(userId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Aucune inscription en attente pour l'utilisateur " + userId));
+        inscriptionRepository.delete(inscription);
+        log.info("🚪 {} a quitté la liste d'attente {} du foyer {}", inscription.getUserName(),
+                inscription.getType(), inscription.getFoyerId());
+        eventPublisher.attenteQuittee(userId, inscription.getFoyerId(), inscription.getType());
+    }
+
+    /**
+     * Donner les lits libres d'une chambre aux premiers inscrits de sa file.
+     *
+     * Appelé dans la transaction de l'appelant (libération, création ou modification de chambre,
+     * allocation en masse), verrou du foyer déjà pris. Retourne le nombre de lits attribués.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int attribuerLitsLiberes(Long chambreId, Long foyerId, ChambreType type, int lits) {
+        int attribues = 0;
+        while (attribues < lits) {
+            Optional<InscriptionAttente> tete =
+                    inscriptionRepository.findFirstByFoyerIdAndTypeOrderByDateInscriptionAscIdAsc(foyerId, type);
+            if (tete.isEmpty()) {
+                break;
+            }
+            InscriptionAttente inscription = tete.get();
+
+            // Logé entre-temps par un admin : l'inscription n'a plus d'objet
+            if (occupationRepository.existsByUserId(inscription.getUserId())) {
+                retirer(inscription);
+                continue;
+            }
+            Chambre chambre = occuper(chambreId, inscription.getUserId(), inscription.getUserName());
+            if (chambre == null) {
+                // Plus de lit libre : la tête de file garde sa place
+                break;
+            }
+            retirer(inscription);
+            attribues++;
+            log.info("🎟️ Lit de la chambre {} attribué à {} depuis la liste d'attente {} du foyer {}",
+                    chambre.getNumero(), inscription.getUserName(), type, foyerId);
+            eventPublisher.chambreAssignee(inscription.getUserId(), chambre, true);
+        }
+        return attribues;
+    }
+
+    /**
+     * Verrouiller les foyers où quelqu'un attend, par id croissant, avant toute ligne chambre.
+     * Utilisé par l'allocation en masse pour servir les files avec les lits qu'elle laisse libres.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Set<Long> verrouillerFoyersEnAttente() {
+        Set<Long> foyers = new LinkedHashSet<>();
+        for (Long foyerId : inscriptionRepository.findFoyerIdsEnAttente()) {
+            foyerRepository.lockById(foyerId).ifPresent(foyer -> foyers.add(foyerId));
+        }
+        return foyers;
+    }
+
+    /**
+     * Foyer supprimé : ses listes d'attente disparaissent avec lui
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void supprimerFoyer(Long foyerId) {
+        int supprimees = inscriptionRepository.deleteByFoyerId(foyerId);
+        if (supprimees > 0) {
+            log.info("🗑️ {} inscription(s) en attente supprimée(s) avec le foyer ID {}", supprimees, foyerId);
+        }
+    }
+
+    /**
+     * Un lit de la chambre pour cet étudiant ; null si elle n'a plus de lit libre
+     */
+    private Chambre occuper(Long chambreId, String userId, String userName) {
+        if (chambreRepository.occuperLit(chambreId) == 0) {
+            return null;
+        }
+        occupationRepository.saveAndFlush(Occupation.builder()
+                .chambre(chambreRepository.getReferenceById(chambreId))
+                .userId(userId)
+                .userName(userName)
+                .dateAffectation(LocalDateTime.now())
+                .build());
+        Chambre chambre = chambreRepository.findById(chambreId)
+                .orElseThrow(() -> new RuntimeException("Chambre non trouvée avec l'ID: " + chambreId));
+        foyerStatsCache.invalidate();
+        availabilityIndex.disponibiliteModifiee(chambreId, chambre.isDisponible());
+        return chambre;
+    }
+
+    // occuperLit vide le contexte de persistance : suppression par id
+    private void retirer(InscriptionAttente inscription) {
+        inscriptionRepository.deleteById(inscription.getId());
+        inscriptionRepository.flush();
+    }
+
+    private long position(InscriptionAttente inscription) {
+        return inscriptionRepository.countDevant(inscription.getFoyerId(), inscription.getType(),
+                inscription.getDateInscription(), inscription.getId()) + 1;
+    }
+}
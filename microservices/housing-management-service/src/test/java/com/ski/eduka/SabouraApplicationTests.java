@@ -3,7 +3,7 @@ package com.ski.eduka;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "housing.events.enabled=false")
 class edukaApplicationTests {
 
 	@Test
@@ -0,0 +1,121 @@
+package com.ski.eduka.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two in-memory H2 databases stand in for primary and replica; each knows its own name,
+ * and "replication" of the heartbeat is done by hand.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static int databases;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private ReplicaRoutingDataSource routing;
+    private ReplicaLagMonitor monitor;
+    private JdbcTemplate application;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        int run = ++databases;
+        JdbcDataSource primaryDataSource = h2("routing_primary_" + run);
+        JdbcDataSource replicaDataSource = h2("routing_replica_" + run);
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        for (JdbcTemplate database : new JdbcTemplate[]{primary, replica}) {
+            database.execute("CREATE TABLE whoami (name VARCHAR(16))");
+        }
+        primary.update("INSERT INTO whoami VALUES ('primary')");
+        replica.update("INSERT INTO whoami VALUES ('replica')");
+
+        routing = new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource);
+        monitor = new ReplicaLagMonitor(primaryDataSource, replicaDataSource, routing, Duration.ofSeconds(5), Clock.systemUTC());
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+        application = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaOnceItIsCaughtUp() {
+        // No heartbeat replicated yet: the replica is not trusted
+        monitor.check();
+        assertFalse(routing.isReplicaAvailable());
+        assertEquals("primary", readOnly.execute(status -> whoami()));
+
+        replicateHeartbeat(Instant.now());
+        monitor.check();
+
+        assertTrue(routing.isReplicaAvailable());
+        assertEquals("replica", readOnly.execute(status -> whoami()));
+        assertEquals("primary", readWrite.execute(status -> whoami()));
+        assertEquals("primary", whoami()); // no transaction at all
+    }
+
+    @Test
+    void lagBeyondTheLimitFallsBackToThePrimary() {
+        replicateHeartbeat(Instant.now());
+        monitor.check();
+        assertEquals("replica", readOnly.execute(status -> whoami()));
+
+        replicateHeartbeat(Instant.now().minusSeconds(30));
+        monitor.check();
+
+        assertFalse(routing.isReplicaAvailable());
+        assertTrue(monitor.getLagSeconds() >= 30);
+        long fallbacks = routing.getFallbackReads();
+        assertEquals("primary", readOnly.execute(status -> whoami()));
+        assertEquals(fallbacks + 1, routing.getFallbackReads());
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToThePrimary() {
+        replicateHeartbeat(Instant.now());
+        monitor.check();
+        replica.execute("DROP TABLE replica_heartbeat");
+
+        monitor.check();
+
+        assertFalse(routing.isReplicaAvailable());
+        assertTrue(Double.isNaN(monitor.getLagSeconds()));
+        assertEquals("primary", readOnly.execute(status -> whoami()));
+    }
+
+    private String whoami() {
+        return application.queryForObject("SELECT name FROM whoami", String.class);
+    }
+
+    private void replicateHeartbeat(Instant beatAt) {
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_at TIMESTAMP NOT NULL)");
+        replica.update("DELETE FROM replica_heartbeat");
+        replica.update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)", Timestamp.from(beatAt));
+    }
+
+    private static JdbcDataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        return dataSource;
+    }
+}
@@ -0,0 +1,44 @@
+package com.ski.eduka.monitoring;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Aide de test : exécuter une action et échouer si elle lance plus de requêtes SQL que son budget.
+ * <pre>
+ * QueryBudget.assertAtMost(4, () -> housingService.getAllFoyerStats());
+ * </pre>
+ * Le message d'échec liste les requêtes par nombre d'exécutions : un N+1 saute aux yeux.
+ */
+public final class QueryBudget {
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private QueryBudget() {
+    }
+
+    public static SqlScope assertAtMost(int maxStatements, Action action) throws Exception {
+        SqlScope scope;
+        try (SqlScope capture = SqlStatistics.capture()) {
+            scope = capture;
+            action.run();
+        }
+        if (scope.getStatements() > maxStatements) {
+            fail("Query budget exceeded: " + scope.getStatements() + " statements, budget " + maxStatements + "\n"
+                + describe(scope));
+        }
+        return scope;
+    }
+
+    private static String describe(SqlScope scope) {
+        return scope.getExecutions().entrySet().stream()
+            .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+            .map(e -> "  " + e.getValue() + "x " + e.getKey())
+            .collect(Collectors.joining("\n"));
+    }
+}
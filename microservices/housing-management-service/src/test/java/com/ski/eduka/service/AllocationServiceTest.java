@@ -0,0 +1,87 @@
+package com.ski.eduka.service;
+
+import com.ski.eduka.dto.AllocationRequest;
+import com.ski.eduka.dto.AllocationRequest.StudentChoice;
+import com.ski.eduka.dto.AllocationResponse;
+import com.ski.eduka.enums.AllocationStatus;
+import com.ski.eduka.enums.ChambreType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 10 000 étudiants sur le jeu synthétique (40 foyers x 250 chambres, 20 % des lits déjà occupés)
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:housing_allocation;DB_CLOSE_DELAY=-1",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false",
+    "housing.events.enabled=false",
+    "seed.synthetic.enabled=true",
+    "seed.synthetic.foyers=40",
+    "seed.synthetic.chambres-par-foyer=250",
+    "seed.synthetic.occupation=0.2"
+})
+class AllocationServiceTest {
+
+    private static final int ETUDIANTS = 10_000;
+
+    @Autowired
+    private AllocationService allocationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void allocatesTenThousandStudentsInSeconds() {
+        long litsLibres = count("SELECT SUM(capacite - lits_occupes) FROM chambre");
+        long litsOccupes = count("SELECT SUM(lits_occupes) FROM chambre");
+        String dejaLoge = jdbcTemplate.queryForObject("SELECT MIN(user_id) FROM occupation", String.class);
+
+        AllocationRequest request = new AllocationRequest();
+        request.setSeed(2025L);
+        Random random = new Random(1);
+        for (int i = 0; i < ETUDIANTS; i++) {
+            StudentChoice choice = new StudentChoice();
+            choice.setUserId(i == 0 ? dejaLoge : "etudiant-" + i);
+            choice.setUserName("Étudiant " + i);
+            choice.setFoyerIds(List.of(1L + random.nextInt(40), 1L + random.nextInt(40)));
+            choice.setTypes(random.nextBoolean() ? List.of(ChambreType.SIMPLE, ChambreType.DOUBLE) : List.of());
+            request.getStudents().add(choice);
+        }
+        StudentChoice doublon = new StudentChoice();
+        doublon.setUserId("etudiant-1");
+        request.getStudents().add(doublon);
+
+        long debut = System.currentTimeMillis();
+        AllocationResponse response = allocationService.allocate(request);
+        long duree = System.currentTimeMillis() - debut;
+
+        assertTrue(duree < 10_000, "allocation trop lente : " + duree + " ms");
+        assertEquals(ETUDIANTS + 1, response.getResults().size());
+        assertEquals(AllocationStatus.ALREADY_HOUSED, response.getResults().get(0).getStatus());
+        assertEquals(AllocationStatus.INVALID, response.getResults().get(ETUDIANTS).getStatus());
+
+        long assignes = response.getResults().stream().filter(r -> r.getStatus() == AllocationStatus.ASSIGNED).count();
+        assertEquals(response.getAssigned(), assignes);
+        assertTrue(response.getAssigned() <= litsLibres);
+        assertEquals(litsOccupes + response.getAssigned(), count("SELECT SUM(lits_occupes) FROM chambre"));
+        assertEquals(response.getAssigned(), count("SELECT COUNT(*) FROM occupation WHERE user_id LIKE 'etudiant-%'"));
+        // Ni surréservation, ni compteur désynchronisé des occupants
+        assertEquals(0, count("SELECT COUNT(*) FROM chambre WHERE lits_occupes > capacite"));
+        assertEquals(0, count("SELECT COUNT(*) FROM chambre c WHERE c.lits_occupes <> "
+            + "(SELECT COUNT(*) FROM occupation o WHERE o.chambre_id = c.id)"));
+        assertEquals(0, count("SELECT COUNT(*) FROM chambre WHERE disponible <> (lits_occupes < capacite)"));
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
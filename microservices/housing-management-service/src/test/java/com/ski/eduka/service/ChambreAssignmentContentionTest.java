@@ -0,0 +1,136 @@
+package com.ski.eduka.service;
+
+import com.ski.eduka.entity.Chambre;
+import com.ski.eduka.entity.Foyer;
+import com.ski.eduka.enums.ChambreType;
+import com.ski.eduka.entity.Occupation;
+import com.ski.eduka.repository.ChambreRepository;
+import com.ski.eduka.repository.OccupationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Début de semestre : beaucoup d'affectations simultanées sur peu de chambres.
+ * Aucune chambre ne doit dépasser son nombre de lits et chaque étudiant a au plus un lit.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:housing_contention;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false",
+    "housing.events.enabled=false"
+})
+class ChambreAssignmentContentionTest {
+
+    private static final int CHAMBRES = 5;
+    private static final int ETUDIANTS = 40;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private HousingService housingService;
+
+    @Autowired
+    private ChambreRepository chambreRepository;
+
+    @Autowired
+    private OccupationRepository occupationRepository;
+
+    @Test
+    void concurrentAssignmentsNeverDoubleBook() throws Exception {
+        Foyer foyer = new Foyer();
+        foyer.setNom("Foyer Contention");
+        foyer.setAdresse("1 Rue du Test");
+        foyer.setCapacite(CHAMBRES);
+        foyer = housingService.createFoyer(foyer);
+
+        List<Long> chambreIds = new ArrayList<>();
+        for (int i = 1; i <= CHAMBRES; i++) {
+            Chambre chambre = new Chambre();
+            chambre.setNumero(String.valueOf(100 + i));
+            // La dernière chambre est une TRIPLE : trois lits disputés sur la même ligne
+            chambre.setType(i == CHAMBRES ? ChambreType.TRIPLE : ChambreType.SIMPLE);
+            chambreIds.add(housingService.createChambre(foyer.getId(), chambre).getId());
+        }
+
+        // Chaque étudiant tente toutes les chambres, dans un ordre différent
+        List<Runnable> tentatives = new ArrayList<>();
+        Random random = new Random(7);
+        for (int e = 0; e < ETUDIANTS; e++) {
+            String userId = "etudiant-" + e;
+            List<Long> ordre = new ArrayList<>(chambreIds);
+            Collections.shuffle(ordre, random);
+            for (Long chambreId : ordre) {
+                tentatives.add(() -> housingService.assignChambreToUser(chambreId, userId, "Étudiant " + userId));
+            }
+        }
+        Collections.shuffle(tentatives, random);
+
+        AtomicInteger succes = new AtomicInteger();
+        AtomicInteger conflits = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> inattendues = new ConcurrentLinkedQueue<>();
+        CountDownLatch depart = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Runnable tentative : tentatives) {
+                futures.add(pool.submit(() -> {
+                    depart.await();
+                    try {
+                        tentative.run();
+                        succes.incrementAndGet();
+                    } catch (ResponseStatusException e) {
+                        if (e.getStatusCode() == HttpStatus.CONFLICT) {
+                            conflits.incrementAndGet();
+                        } else {
+                            inattendues.add(e);
+                        }
+                    } catch (RuntimeException e) {
+                        inattendues.add(e);
+                    }
+                    return null;
+                }));
+            }
+            depart.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        int lits = CHAMBRES - 1 + ChambreType.TRIPLE.getLits();
+        assertTrue(inattendues.isEmpty(), () -> "Exceptions inattendues : " + inattendues);
+        assertEquals(lits, succes.get());
+        assertEquals(tentatives.size() - lits, conflits.get());
+
+        Set<String> occupants = new HashSet<>();
+        for (Chambre chambre : chambreRepository.findAllById(chambreIds)) {
+            List<Occupation> occupations = occupationRepository.findByChambreIdOrderByDateAffectationAsc(chambre.getId());
+            assertEquals(chambre.getCapacite(), chambre.getLitsOccupes());
+            assertEquals(chambre.getCapacite(), occupations.size());
+            assertFalse(chambre.isDisponible());
+            occupations.forEach(o -> occupants.add(o.getUserId()));
+        }
+        assertEquals(lits, occupants.size(), "un étudiant a obtenu deux lits");
+    }
+}
@@ -0,0 +1,83 @@
+package com.ski.eduka.service;
+
+import com.ski.eduka.entity.Chambre;
+import com.ski.eduka.entity.Foyer;
+import com.ski.eduka.enums.ChambreType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:housing_index;DB_CLOSE_DELAY=-1",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false",
+    "housing.events.enabled=false",
+    "chambres.index.reconcile-interval-ms=3600000"
+})
+class ChambreAvailabilityIndexTest {
+
+    @Autowired
+    private HousingService housingService;
+
+    @Autowired
+    private ChambreAvailabilityIndex index;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void indexFollowsHousingServiceAndReconcilesExternalWrites() {
+        assertTrue(index.isReady());
+
+        Foyer foyer = new Foyer();
+        foyer.setNom("Foyer Index");
+        foyer.setAdresse("2 Rue des Bits");
+        foyer.setCapacite(4);
+        Long foyerId = housingService.createFoyer(foyer).getId();
+        Long d1 = chambre(foyerId, "201", ChambreType.DOUBLE);
+        Long d2 = chambre(foyerId, "202", ChambreType.DOUBLE);
+        Long s1 = chambre(foyerId, "203", ChambreType.SIMPLE);
+        Long s2 = chambre(foyerId, "204", ChambreType.SIMPLE);
+
+        assertEquals(2, index.countDisponibles(foyerId, ChambreType.DOUBLE));
+        assertEquals(List.of(d1, d2), index.findDisponibles(foyerId, ChambreType.DOUBLE, 10));
+        assertEquals(d1, housingService.findAvailableChambre(foyerId, ChambreType.DOUBLE).getId());
+
+        // Une DOUBLE reste disponible tant qu'il lui reste un lit
+        housingService.assignChambreToUser(d1, "index-user-1", "Index User 1");
+        assertTrue(index.isDisponible(d1));
+        housingService.assignChambreToUser(d1, "index-user-2", "Index User 2");
+        assertFalse(index.isDisponible(d1));
+        assertEquals(1, housingService.countAvailableChambres(foyerId, ChambreType.DOUBLE));
+        assertEquals(d2, housingService.findAvailableChambre(foyerId, ChambreType.DOUBLE).getId());
+
+        housingService.deleteChambre(s1);
+        assertEquals(1, index.countDisponibles(foyerId, ChambreType.SIMPLE));
+        assertEquals(List.of(s2), index.findDisponibles(foyerId, ChambreType.SIMPLE, 10));
+
+        housingService.unassignChambre(d1);
+        assertTrue(index.isDisponible(d1));
+
+        // Écriture hors HousingService : l'index ne la voit qu'après réconciliation
+        jdbcTemplate.update("UPDATE chambre SET disponible = false, lits_occupes = capacite WHERE id = ?", d2);
+        assertEquals(d1, housingService.findAvailableChambre(foyerId, ChambreType.DOUBLE).getId());
+        assertEquals(2, index.countDisponibles(foyerId, ChambreType.DOUBLE));
+        index.reconcilier();
+        assertEquals(1, index.countDisponibles(foyerId, ChambreType.DOUBLE));
+        assertFalse(index.isDisponible(d2));
+    }
+
+    private Long chambre(Long foyerId, String numero, ChambreType type) {
+        Chambre chambre = new Chambre();
+        chambre.setNumero(numero);
+        chambre.setType(type);
+        return housingService.createChambre(foyerId, chambre).getId();
+    }
+}
@@ -0,0 +1,82 @@
+package com.ski.eduka.service;
+
+import com.ski.eduka.entity.Chambre;
+import com.ski.eduka.entity.Foyer;
+import com.ski.eduka.enums.ChambreType;
+import com.ski.eduka.monitoring.QueryBudget;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:housing_stats;DB_CLOSE_DELAY=-1",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false",
+    "housing.events.enabled=false",
+    "foyer.stats.cache-ttl-ms=600000"
+})
+class FoyerStatsTest {
+
+    @Autowired
+    private HousingService housingService;
+
+    @Test
+    void statsAreGroupedByTypeAndRefreshedOnAssignment() {
+        Foyer plein = foyer("Foyer Stats A", 3);
+        Long simple = chambre(plein, "101", ChambreType.SIMPLE);
+        chambre(plein, "102", ChambreType.SIMPLE);
+        chambre(plein, "103", ChambreType.DOUBLE);
+        Foyer vide = foyer("Foyer Stats B", 10);
+
+        HousingService.FoyerStats stats = housingService.getFoyerStats(plein.getId());
+        assertEquals(3, stats.totalChambres);
+        assertEquals(3, stats.chambresDisponibles);
+        assertEquals(2, stats.parType.get(ChambreType.SIMPLE).total);
+        assertEquals(1, stats.parType.get(ChambreType.DOUBLE).total);
+        assertEquals(4, stats.totalLits);
+        assertEquals(4, stats.litsLibres);
+        assertTrue(housingService.getFoyerStats(vide.getId()).parType.isEmpty());
+        assertEquals(0, housingService.getFoyerStats(vide.getId()).totalChambres);
+
+        // Le TTL est long : seule l'invalidation par l'affectation rend le changement visible
+        housingService.assignChambreToUser(simple, "stats-user", "Stats User");
+        stats = housingService.getFoyerStats(plein.getId());
+        assertEquals(2, stats.chambresDisponibles);
+        assertEquals(1, stats.chambresOccupees);
+        assertEquals(1, stats.parType.get(ChambreType.SIMPLE).occupees);
+        assertEquals(3, stats.litsLibres);
+        assertEquals(1, stats.litsOccupes);
+
+        housingService.unassignChambre(simple);
+        assertEquals(0, housingService.getFoyerStats(plein.getId()).chambresOccupees);
+        assertTrue(housingService.getAllFoyerStats().size() >= 2);
+    }
+
+    @Test
+    void allFoyerStatsComeFromOneQuery() throws Exception {
+        Foyer foyer = foyer("Foyer Stats C", 2);
+        chambre(foyer, "201", ChambreType.SIMPLE);
+        chambre(foyer, "202", ChambreType.TRIPLE);
+
+        // Cache vidé par createChambre : le rechargement est une seule requête groupée
+        QueryBudget.assertAtMost(1, () -> housingService.getAllFoyerStats());
+    }
+
+    private Foyer foyer(String nom, int capacite) {
+        Foyer foyer = new Foyer();
+        foyer.setNom(nom);
+        foyer.setAdresse("1 Rue des Stats");
+        foyer.setCapacite(capacite);
+        return housingService.createFoyer(foyer);
+    }
+
+    private Long chambre(Foyer foyer, String numero, ChambreType type) {
+        Chambre chambre = new Chambre();
+        chambre.setNumero(numero);
+        chambre.setType(type);
+        return housingService.createChambre(foyer.getId(), chambre).getId();
+    }
+}
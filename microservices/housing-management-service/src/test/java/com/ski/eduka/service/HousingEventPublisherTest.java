@@ -0,0 +1,189 @@
+package com.ski.eduka.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ski.eduka.config.RabbitMQConfig;
+import com.ski.eduka.dto.NotificationMessageDTO;
+import com.ski.eduka.entity.Chambre;
+import com.ski.eduka.entity.Foyer;
+import com.ski.eduka.enums.ChambreType;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.qpid.server.SystemLauncher;
+import org.apache.qpid.server.model.SystemConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Notifications logement publiées sur un broker AMQP 0-9-1 embarqué (Qpid Broker-J) :
+ * un message par affectation / libération validée, rien pour une transaction annulée.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:housing_events;DB_CLOSE_DELAY=-1",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false",
+    "spring.rabbitmq.host=localhost",
+    "spring.rabbitmq.virtual-host=default",
+    "spring.rabbitmq.publisher-confirm-type=simple",
+    "housing.events.batch-size=10",
+    "housing.events.retry-backoff-ms=100"
+})
+class HousingEventPublisherTest {
+
+    private static final long TIMEOUT_MS = 10000;
+
+    private static SystemLauncher broker;
+    private static int port;
+
+    @Autowired
+    private HousingService housingService;
+
+    @Autowired
+    private HousingEventPublisher eventPublisher;
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private AmqpAdmin amqpAdmin;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeAll
+    static void demarrerBroker() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        Map<String, Object> attributs = new HashMap<>();
+        attributs.put(SystemConfig.TYPE, "Memory");
+        attributs.put(SystemConfig.INITIAL_CONFIGURATION_LOCATION,
+            HousingEventPublisherTest.class.getResource("/qpid-embedded.json").toExternalForm());
+        attributs.put(SystemConfig.STARTUP_LOGGED_TO_SYSTEM_OUT, false);
+        attributs.put(SystemConfig.CONTEXT, Map.of("qpid.amqp_port", port));
+        broker = new SystemLauncher();
+        broker.startup(attributs);
+    }
+
+    @AfterAll
+    static void arreterBroker() {
+        if (broker != null) {
+            broker.shutdown();
+        }
+    }
+
+    @DynamicPropertySource
+    static void rabbitProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.rabbitmq.port", () -> port);
+    }
+
+    @BeforeEach
+    void viderQueue() throws InterruptedException {
+        attendreBacklogVide();
+        amqpAdmin.purgeQueue(RabbitMQConfig.HOUSING_NOTIFICATION_QUEUE, false);
+    }
+
+    @Test
+    void committedChangesArePublishedAndRolledBackOnesAreNot() throws Exception {
+        Foyer foyer = creerFoyer("Foyer Notifications");
+        Long chambreId = creerChambre(foyer, "N1");
+
+        housingService.assignChambreToUser(chambreId, "notif-a", "A");
+        // Chambre pleine : 409, la transaction est annulée et rien ne doit partir
+        assertThrows(ResponseStatusException.class,
+            () -> housingService.assignChambreToUser(chambreId, "notif-b", "B"));
+        housingService.unassignOccupant(chambreId, "notif-a");
+
+        List<NotificationMessageDTO> recues = recevoir(2);
+        assertEquals("notif-a", recues.get(0).getUserId());
+        assertEquals("HOUSING", recues.get(0).getType());
+        assertEquals("N1", recues.get(0).getDetails().getRoomNumber());
+        assertTrue(recues.get(0).getDetails().getAdditionalInfo().startsWith("event=ASSIGNED"));
+        assertEquals("notif-a", recues.get(1).getUserId());
+        assertTrue(recues.get(1).getDetails().getAdditionalInfo().startsWith("event=UNASSIGNED"));
+
+        attendreBacklogVide();
+        assertNull(rabbitTemplate.receive(RabbitMQConfig.HOUSING_NOTIFICATION_QUEUE, 500));
+    }
+
+    @Test
+    void burstIsPublishedInConfirmedBatches() throws Exception {
+        int etudiants = 45;
+        Foyer foyer = creerFoyer("Foyer Rafale");
+        double publieesAvant = meterRegistry.get("housing.events.published").counter().count();
+
+        for (int i = 0; i < etudiants; i++) {
+            Long chambreId = creerChambre(foyer, "R" + i);
+            housingService.assignChambreToUser(chambreId, "rafale-" + i, "Étudiant " + i);
+        }
+
+        Set<String> destinataires = new HashSet<>();
+        recevoir(etudiants).forEach(n -> destinataires.add(n.getUserId()));
+        assertEquals(etudiants, destinataires.size());
+
+        attendreBacklogVide();
+        assertEquals(0, eventPublisher.backlog());
+        assertEquals(0.0, meterRegistry.get("housing.events.pending").gauge().value());
+        assertEquals(publieesAvant + etudiants, meterRegistry.get("housing.events.published").counter().count());
+        assertEquals(0.0, meterRegistry.get("housing.events.dropped").counter().count());
+    }
+
+    private Foyer creerFoyer(String nom) {
+        Foyer foyer = new Foyer();
+        foyer.setNom(nom);
+        foyer.setAdresse("1 Rue du Test");
+        foyer.setCapacite(50);
+        return housingService.createFoyer(foyer);
+    }
+
+    private Long creerChambre(Foyer foyer, String numero) {
+        Chambre chambre = new Chambre();
+        chambre.setNumero(numero);
+        chambre.setType(ChambreType.SIMPLE);
+        return housingService.createChambre(foyer.getId(), chambre).getId();
+    }
+
+    private List<NotificationMessageDTO> recevoir(int nombre) throws Exception {
+        List<NotificationMessageDTO> recues = new ArrayList<>();
+        long limite = System.currentTimeMillis() + TIMEOUT_MS;
+        while (recues.size() < nombre && System.currentTimeMillis() < limite) {
+            Message message = rabbitTemplate.receive(RabbitMQConfig.HOUSING_NOTIFICATION_QUEUE, 500);
+            if (message != null) {
+                recues.add(objectMapper.readValue(message.getBody(), NotificationMessageDTO.class));
+            }
+        }
+        assertEquals(nombre, recues.size(), "notifications reçues");
+        return recues;
+    }
+
+    private void attendreBacklogVide() throws InterruptedException {
+        long limite = System.currentTimeMillis() + TIMEOUT_MS;
+        while (eventPublisher.backlog() > 0 && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+        }
+    }
+}
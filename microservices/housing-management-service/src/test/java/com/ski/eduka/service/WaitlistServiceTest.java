@@ -0,0 +1,224 @@
+package com.ski.eduka.service;
+
+import com.ski.eduka.dto.AllocationRequest;
+import com.ski.eduka.dto.WaitlistResponse;
+import com.ski.eduka.entity.Chambre;
+import com.ski.eduka.entity.Foyer;
+import com.ski.eduka.enums.ChambreType;
+import com.ski.eduka.enums.WaitlistStatus;
+import com.ski.eduka.repository.ChambreRepository;
+import com.ski.eduka.repository.InscriptionAttenteRepository;
+import com.ski.eduka.repository.OccupationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Liste d'attente : les lits libérés vont aux premiers inscrits, y compris quand libérations
+ * et inscriptions arrivent en même temps.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:housing_waitlist;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false",
+    "housing.events.enabled=false"
+})
+class WaitlistServiceTest {
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private HousingService housingService;
+
+    @Autowired
+    private AllocationService allocationService;
+
+    @Autowired
+    private ChambreRepository chambreRepository;
+
+    @Autowired
+    private OccupationRepository occupationRepository;
+
+    @Autowired
+    private InscriptionAttenteRepository inscriptionRepository;
+
+    @Test
+    void releasedBedsGoToWaitersInArrivalOrder() {
+        Foyer foyer = creerFoyer("Foyer FIFO");
+        List<Long> chambres = creerChambresOccupees(foyer, 3, "fifo-occupant-");
+
+        for (int w = 1; w <= 5; w++) {
+            WaitlistResponse reponse = waitlistService.rejoindre(foyer.getId(), ChambreType.SIMPLE, "fifo-w" + w, "W" + w);
+            assertEquals(WaitlistStatus.WAITING, reponse.getStatus());
+            assertEquals((long) w, reponse.getPosition());
+        }
+        ResponseStatusException doublon = assertThrows(ResponseStatusException.class,
+            () -> waitlistService.rejoindre(foyer.getId(), ChambreType.SIMPLE, "fifo-w1", "W1"));
+        assertEquals(HttpStatus.CONFLICT, doublon.getStatusCode());
+
+        for (int i = 0; i < chambres.size(); i++) {
+            housingService.unassignOccupant(chambres.get(i), "fifo-occupant-" + i);
+        }
+
+        for (int w = 1; w <= 3; w++) {
+            assertNotNull(housingService.getChambreByUserId("fifo-w" + w), "W" + w + " aurait dû être logé");
+            assertNull(waitlistService.getInscription("fifo-w" + w));
+        }
+        assertNull(housingService.getChambreByUserId("fifo-w4"));
+        assertEquals(1L, waitlistService.getInscription("fifo-w4").getPosition());
+        assertEquals(2L, waitlistService.getInscription("fifo-w5").getPosition());
+        assertEquals(0, chambreRepository.countByFoyerIdAndTypeAndDisponibleTrue(foyer.getId(), ChambreType.SIMPLE));
+
+        waitlistService.quitter("fifo-w4");
+        assertEquals(1L, waitlistService.getInscription("fifo-w5").getPosition());
+    }
+
+    @Test
+    void newBedsInAFoyerGoToItsWaiters() {
+        Foyer foyer = creerFoyer("Foyer Nouveaux Lits");
+        creerChambresOccupees(foyer, 1, "new-occupant-");
+        for (int w = 1; w <= 4; w++) {
+            waitlistService.rejoindre(foyer.getId(), ChambreType.SIMPLE, "new-w" + w, "W" + w);
+        }
+
+        // Nouvelle chambre
+        Chambre nouvelle = new Chambre();
+        nouvelle.setNumero("200");
+        nouvelle.setType(ChambreType.SIMPLE);
+        Chambre creee = housingService.createChambre(foyer.getId(), nouvelle);
+        assertEquals(1, creee.getLitsOccupes());
+        assertEquals(creee.getId(), housingService.getChambreByUserId("new-w1").getId());
+
+        // Capacité augmentée
+        Chambre agrandie = new Chambre();
+        agrandie.setNumero("200");
+        agrandie.setType(ChambreType.SIMPLE);
+        agrandie.setCapacite(2);
+        assertEquals(2, housingService.updateChambre(creee.getId(), agrandie).getLitsOccupes());
+        assertEquals(creee.getId(), housingService.getChambreByUserId("new-w2").getId());
+
+        // Lit libre laissé par l'allocation en masse (chambre insérée sans passer par le service)
+        Chambre horsService = new Chambre();
+        horsService.setNumero("201");
+        horsService.setType(ChambreType.SIMPLE);
+        horsService.setFoyer(foyer);
+        horsService.setDisponible(true);
+        Long horsServiceId = chambreRepository.saveAndFlush(horsService).getId();
+        allocationService.allocate(new AllocationRequest());
+        assertEquals(horsServiceId, housingService.getChambreByUserId("new-w3").getId());
+
+        assertNull(waitlistService.getInscription("new-w3"));
+        assertEquals(1L, waitlistService.getInscription("new-w4").getPosition());
+        assertEquals(0, chambreRepository.countByFoyerIdAndTypeAndDisponibleTrue(foyer.getId(), ChambreType.SIMPLE));
+    }
+
+    @Test
+    void concurrentReleasesAndJoinsLeaveNoFreeBedWhileSomeoneWaits() throws Exception {
+        int chambresCount = 10;
+        int attente = 15;
+        Foyer foyer = creerFoyer("Foyer Concurrence");
+        List<Long> chambres = creerChambresOccupees(foyer, chambresCount, "conc-occupant-");
+
+        List<Runnable> operations = new ArrayList<>();
+        for (int i = 0; i < chambresCount; i++) {
+            Long chambreId = chambres.get(i);
+            String occupant = "conc-occupant-" + i;
+            operations.add(() -> housingService.unassignOccupant(chambreId, occupant));
+        }
+        for (int w = 0; w < attente; w++) {
+            String userId = "conc-w" + w;
+            operations.add(() -> waitlistService.rejoindre(foyer.getId(), ChambreType.SIMPLE, userId, userId));
+        }
+        Collections.shuffle(operations, new Random(11));
+
+        ConcurrentLinkedQueue<Throwable> erreurs = new ConcurrentLinkedQueue<>();
+        CountDownLatch depart = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Runnable operation : operations) {
+                futures.add(pool.submit(() -> {
+                    depart.await();
+                    try {
+                        operation.run();
+                    } catch (RuntimeException e) {
+                        erreurs.add(e);
+                    }
+                    return null;
+                }));
+            }
+            depart.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertTrue(erreurs.isEmpty(), () -> "Exceptions inattendues : " + erreurs);
+
+        // Aucun lit libre tant que quelqu'un attend, et personne n'est logé deux fois
+        long loges = 0;
+        for (int w = 0; w < attente; w++) {
+            boolean loge = occupationRepository.existsByUserId("conc-w" + w);
+            boolean enAttente = inscriptionRepository.findByUserId("conc-w" + w).isPresent();
+            assertTrue(loge ^ enAttente, "conc-w" + w + " doit être soit logé, soit en attente");
+            loges += loge ? 1 : 0;
+        }
+        assertEquals(chambresCount, loges);
+        assertEquals(attente - chambresCount, inscriptionRepository.count() - autresInscrits());
+        assertEquals(0, chambreRepository.countByFoyerIdAndTypeAndDisponibleTrue(foyer.getId(), ChambreType.SIMPLE));
+        for (Chambre chambre : chambreRepository.findAllById(chambres)) {
+            assertEquals(1, chambre.getLitsOccupes());
+            assertEquals(1, occupationRepository.findByChambreIdOrderByDateAffectationAsc(chambre.getId()).size());
+        }
+    }
+
+    private Foyer creerFoyer(String nom) {
+        Foyer foyer = new Foyer();
+        foyer.setNom(nom);
+        foyer.setAdresse("1 Rue du Test");
+        foyer.setCapacite(20);
+        return housingService.createFoyer(foyer);
+    }
+
+    private List<Long> creerChambresOccupees(Foyer foyer, int nombre, String prefixeOccupant) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < nombre; i++) {
+            Chambre chambre = new Chambre();
+            chambre.setNumero(String.valueOf(100 + i));
+            chambre.setType(ChambreType.SIMPLE);
+            Long id = housingService.createChambre(foyer.getId(), chambre).getId();
+            housingService.assignChambreToUser(id, prefixeOccupant + i, "Occupant " + i);
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    // Inscriptions laissées par l'autre test (même base)
+    private long autresInscrits() {
+        return inscriptionRepository.findAll().stream()
+            .filter(i -> !i.getUserId().startsWith("conc-"))
+            .count();
+    }
+}
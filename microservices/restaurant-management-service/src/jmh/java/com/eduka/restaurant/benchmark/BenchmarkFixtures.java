@@ -0,0 +1,90 @@
+package com.eduka.restaurant.benchmark;
+
+import com.eduka.restaurant.model.MenuItem;
+import com.eduka.restaurant.model.Order;
+import com.eduka.restaurant.model.Restaurant;
+import com.ski.eduka.edukaApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Shared setup for the JMH benchmarks: deterministic in-memory fixtures and a
+ * Spring context on a private in-memory H2 database with every background job off.
+ */
+final class BenchmarkFixtures {
+
+    static final long SEED = 42L;
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Settings are passed as command-line arguments so they win over application.properties
+     * (SpringApplicationBuilder.properties only sets defaults, which the file overrides).
+     */
+    static ConfigurableApplicationContext startContext(String database, String... overrides) {
+        List<String> args = new ArrayList<>(List.of(
+            "spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+            "spring.jpa.hibernate.ddl-auto=create-drop",
+            "spring.jpa.show-sql=false",
+            "spring.h2.console.enabled=false",
+            "server.port=0",
+            "eureka.client.enabled=false",
+            "outbox.relay.enabled=false",
+            "orders.archive.enabled=false",
+            "orders.legacy-items-migration.enabled=false",
+            "revenue.rollup.rebuild-if-empty=false",
+            "logging.level.root=WARN"));
+        args.addAll(List.of(overrides));
+        return new SpringApplicationBuilder(edukaApplication.class)
+            .run(args.stream().map(arg -> "--" + arg).toArray(String[]::new));
+    }
+
+    static Restaurant restaurant(long id) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(id);
+        restaurant.setName("Campus Cafeteria " + id);
+        restaurant.setType("Cafeteria");
+        restaurant.setAddress("Building A, Ground Floor");
+        return restaurant;
+    }
+
+    static List<MenuItem> menu(Restaurant restaurant, int size) {
+        Random random = new Random(SEED);
+        List<MenuItem> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            MenuItem item = new MenuItem();
+            item.setId((long) i + 1);
+            item.setName("Dish " + i);
+            item.setDescription("House dish number " + i);
+            item.setCategory(i % 2 == 0 ? "Main Course" : "Dessert");
+            item.setPrice(2.0 + random.nextInt(1500) / 100.0);
+            item.setRestaurant(restaurant);
+            items.add(item);
+        }
+        return items;
+    }
+
+    /**
+     * An order with `lines` distinct menu items, each ordered 1-3 times.
+     */
+    static Order order(Restaurant restaurant, List<MenuItem> menu, int lines) {
+        Random random = new Random(SEED);
+        Order order = new Order();
+        order.setId(1L);
+        order.setUserId("64b7f0c2a1b2c3d4e5f60718");
+        order.setRestaurant(restaurant);
+        order.setNotes("No onions");
+        for (int i = 0; i < lines; i++) {
+            int quantity = 1 + random.nextInt(3);
+            for (int q = 0; q < quantity; q++) {
+                order.addItem(menu.get(i % menu.size()));
+            }
+        }
+        return order;
+    }
+}
@@ -0,0 +1,132 @@
+package com.eduka.restaurant.benchmark;
+
+import com.eduka.restaurant.model.MenuItem;
+import com.eduka.restaurant.model.Order;
+import com.eduka.restaurant.model.Restaurant;
+import com.eduka.restaurant.repository.MenuItemRepository;
+import com.eduka.restaurant.repository.OrderRepository;
+import com.eduka.restaurant.repository.RestaurantRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk-insert throughput in rows per second: 1,000 orders (about 2,500 order lines) or 1,000 menu items
+ * per transaction, flushed every 500 entities like an import job.
+ * idGeneration=IDENTITY maps Order, OrderLine and MenuItem back to IDENTITY columns (identity-ids.orm.xml),
+ * which makes Hibernate send one INSERT per row; SEQUENCE is the current pooled-sequence mapping, batched by 50.
+ * Both run with the configured hibernate.jdbc.batch_size. H2 in memory has no network hop, so real databases gain more.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    private static final int ROWS = 1_000;
+    private static final int FLUSH_EVERY = 500;
+
+    @Param({"IDENTITY", "SEQUENCE"})
+    public String idGeneration;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate write;
+    private EntityManager entityManager;
+    private OrderRepository orderRepository;
+    private MenuItemRepository menuItemRepository;
+    private Restaurant restaurant;
+    private List<MenuItem> menu;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        List<String> settings = new ArrayList<>(List.of("sql.instrumentation.enabled=false"));
+        if ("IDENTITY".equals(idGeneration)) {
+            settings.add("spring.jpa.mapping-resources=identity-ids.orm.xml");
+        }
+        context = BenchmarkFixtures.startContext("jmh_bulk_insert_" + idGeneration.toLowerCase(),
+            settings.toArray(String[]::new));
+        write = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        entityManager = context.getBean(EntityManager.class);
+        orderRepository = context.getBean(OrderRepository.class);
+        menuItemRepository = context.getBean(MenuItemRepository.class);
+
+        restaurant = BenchmarkFixtures.restaurant(1L);
+        restaurant.setId(null);
+        restaurant = context.getBean(RestaurantRepository.class).save(restaurant);
+        menu = BenchmarkFixtures.menu(restaurant, 20);
+        menu.forEach(item -> item.setId(null));
+        menu = menuItemRepository.saveAll(menu);
+        random = new Random(BenchmarkFixtures.SEED);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insertOrders() {
+        write.executeWithoutResult(status -> {
+            for (int i = 0; i < ROWS; i++) {
+                Order order = BenchmarkFixtures.order(restaurant, menu, 1 + random.nextInt(4));
+                order.setId(null);
+                orderRepository.save(order);
+                flushEvery(i);
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insertMenuItems() {
+        write.executeWithoutResult(status -> {
+            List<MenuItem> items = new ArrayList<>(FLUSH_EVERY);
+            for (int i = 0; i < ROWS; i++) {
+                MenuItem item = new MenuItem();
+                item.setName("Imported dish " + i);
+                item.setCategory("Main Course");
+                item.setPrice(2.0 + random.nextInt(1500) / 100.0);
+                item.setRestaurant(restaurant);
+                items.add(item);
+                if (items.size() == FLUSH_EVERY) {
+                    menuItemRepository.saveAll(items);
+                    items.clear();
+                    flushEvery(i);
+                }
+            }
+            menuItemRepository.saveAll(items);
+        });
+    }
+
+    // Keeps the persistence context small, as a real import would
+    private void flushEvery(int i) {
+        if ((i + 1) % FLUSH_EVERY == 0) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.eduka.restaurant.benchmark;
+
+import com.eduka.restaurant.model.MenuItem;
+import com.eduka.restaurant.model.Order;
+import com.eduka.restaurant.model.Restaurant;
+import com.eduka.restaurant.repository.MenuItemRepository;
+import com.eduka.restaurant.repository.RestaurantRepository;
+import com.eduka.restaurant.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderService.createOrder end to end on in-memory H2: restaurant lookup, batched menu
+ * resolution, order and line inserts, outbox row, commit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderPipelineBenchmark {
+
+    private static final int MENU_SIZE = 50;
+
+    @Param({"1", "5", "25"})
+    private int items;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private JdbcTemplate jdbcTemplate;
+    private Long restaurantId;
+    private List<Long> menuItemIds;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = BenchmarkFixtures.startContext("jmh_pipeline");
+        orderService = context.getBean(OrderService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        Restaurant restaurant = BenchmarkFixtures.restaurant(1L);
+        restaurant.setId(null);
+        restaurant = context.getBean(RestaurantRepository.class).save(restaurant);
+        restaurantId = restaurant.getId();
+
+        List<MenuItem> menu = BenchmarkFixtures.menu(restaurant, MENU_SIZE);
+        menu.forEach(item -> item.setId(null));
+        menuItemIds = context.getBean(MenuItemRepository.class).saveAll(menu).stream()
+            .map(MenuItem::getId)
+            .limit(items)
+            .toList();
+    }
+
+    // Keep the tables at the same size from one iteration to the next
+    @TearDown(Level.Iteration)
+    public void clearOrders() {
+        jdbcTemplate.update("DELETE FROM order_outbox");
+        jdbcTemplate.update("DELETE FROM order_lines");
+        jdbcTemplate.update("DELETE FROM orders");
+        jdbcTemplate.update("DELETE FROM restaurant_revenue_daily");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public Order createOrder() {
+        Order order = new Order();
+        order.setUserId("64b7f0c2a1b2c3d4e5f60718");
+        return orderService.createOrder(order, restaurantId, menuItemIds);
+    }
+}
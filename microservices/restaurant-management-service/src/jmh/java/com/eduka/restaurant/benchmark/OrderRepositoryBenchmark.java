@@ -0,0 +1,138 @@
+package com.eduka.restaurant.benchmark;
+
+import com.eduka.restaurant.dto.OrderCursor;
+import com.eduka.restaurant.model.MenuItem;
+import com.eduka.restaurant.model.Order;
+import com.eduka.restaurant.model.OrderStatus;
+import com.eduka.restaurant.model.Restaurant;
+import com.eduka.restaurant.repository.MenuItemRepository;
+import com.eduka.restaurant.repository.OrderRepository;
+import com.eduka.restaurant.repository.RestaurantRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * OrderRepository finders against 10k seeded orders over 20 restaurants.
+ * Each call runs in a read-only transaction, as from OrderService, and touches the
+ * order lines so lazy loading is part of the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderRepositoryBenchmark {
+
+    private static final int RESTAURANTS = 20;
+    private static final int ORDERS = 10_000;
+    private static final int SEED_CHUNK = 500;
+
+    private ConfigurableApplicationContext context;
+    private OrderRepository orderRepository;
+    private TransactionTemplate readOnly;
+    private Long restaurantId;
+    private Long orderId;
+    private LocalDateTime dayStart;
+
+    @Setup(Level.Trial)
+    public void seed() {
+        context = BenchmarkFixtures.startContext("jmh_finders");
+        orderRepository = context.getBean(OrderRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        TransactionTemplate write = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        List<Restaurant> restaurants = new ArrayList<>();
+        List<List<MenuItem>> menus = new ArrayList<>();
+        for (int r = 0; r < RESTAURANTS; r++) {
+            Restaurant restaurant = BenchmarkFixtures.restaurant(r + 1L);
+            restaurant.setId(null);
+            restaurant = context.getBean(RestaurantRepository.class).save(restaurant);
+            List<MenuItem> menu = BenchmarkFixtures.menu(restaurant, 20);
+            menu.forEach(item -> item.setId(null));
+            restaurants.add(restaurant);
+            menus.add(context.getBean(MenuItemRepository.class).saveAll(menu));
+        }
+
+        Random random = new Random(BenchmarkFixtures.SEED);
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 8, 0);
+        OrderStatus[] statuses = OrderStatus.values();
+        for (int from = 0; from < ORDERS; from += SEED_CHUNK) {
+            int chunkStart = from;
+            write.executeWithoutResult(status -> {
+                for (int i = chunkStart; i < Math.min(ORDERS, chunkStart + SEED_CHUNK); i++) {
+                    int r = random.nextInt(RESTAURANTS);
+                    Order order = BenchmarkFixtures.order(restaurants.get(r), menus.get(r), 1 + random.nextInt(4));
+                    order.setId(null);
+                    order.setUserId("user-" + random.nextInt(2_000));
+                    order.setStatus(statuses[random.nextInt(statuses.length)]);
+                    order.setCreatedAt(start.plusMinutes(i * 7L));
+                    orderRepository.save(order);
+                }
+            });
+        }
+
+        restaurantId = restaurants.get(0).getId();
+        orderId = orderRepository.findPageBefore(OrderCursor.START.getCreatedAt(), OrderCursor.START.getId(),
+            PageRequest.of(0, 1)).get(0).getId();
+        dayStart = start.plusDays(100);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public int findByRestaurantId() {
+        return inReadOnly(() -> orderRepository.findByRestaurantId(restaurantId));
+    }
+
+    @Benchmark
+    public int findByStatus() {
+        return inReadOnly(() -> orderRepository.findByStatus(OrderStatus.PREPARING));
+    }
+
+    @Benchmark
+    public int findByDateRange() {
+        return inReadOnly(() -> orderRepository.findByDateRange(dayStart, dayStart.plusDays(1)));
+    }
+
+    @Benchmark
+    public int findFirstPage() {
+        return inReadOnly(() -> orderRepository.findPageBefore(OrderCursor.START.getCreatedAt(), OrderCursor.START.getId(),
+            PageRequest.of(0, 51)));
+    }
+
+    @Benchmark
+    public int findByIdWithItems() {
+        return inReadOnly(() -> List.of(orderRepository.findByIdWithItems(orderId)));
+    }
+
+    private int inReadOnly(Supplier<List<Order>> finder) {
+        Integer lines = readOnly.execute(status -> finder.get().stream().mapToInt(order -> order.getItems().size()).sum());
+        return lines != null ? lines : 0;
+    }
+}
@@ -0,0 +1,68 @@
+package com.eduka.restaurant.benchmark;
+
+import com.eduka.restaurant.model.MenuItem;
+import com.eduka.restaurant.model.Order;
+import com.eduka.restaurant.model.Restaurant;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of Order as the REST controllers return it: restaurant (with its
+ * @JsonIgnoreProperties exclusions) and order lines. The mapper uses Spring Boot's defaults.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class OrderSerializationBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int lines;
+
+    private ObjectMapper objectMapper;
+    private Order order;
+    private List<Order> orderList;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Restaurant restaurant = BenchmarkFixtures.restaurant(1L);
+        List<MenuItem> menu = BenchmarkFixtures.menu(restaurant, lines);
+        order = BenchmarkFixtures.order(restaurant, menu, lines);
+
+        // A typical list response: 50 orders of the same shape
+        orderList = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Order copy = BenchmarkFixtures.order(restaurant, menu, lines);
+            copy.setId((long) i + 1);
+            orderList.add(copy);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeOrder() throws Exception {
+        return objectMapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] serializeOrderList() throws Exception {
+        return objectMapper.writeValueAsBytes(orderList);
+    }
+}
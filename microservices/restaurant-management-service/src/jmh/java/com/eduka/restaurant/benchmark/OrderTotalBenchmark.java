@@ -0,0 +1,49 @@
+package com.eduka.restaurant.benchmark;
+
+import com.eduka.restaurant.model.MenuItem;
+import com.eduka.restaurant.model.Order;
+import com.eduka.restaurant.model.Restaurant;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order.calculateTotal over orders of growing size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class OrderTotalBenchmark {
+
+    @Param({"1", "10", "50", "200"})
+    private int lines;
+
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        Restaurant restaurant = BenchmarkFixtures.restaurant(1L);
+        List<MenuItem> menu = BenchmarkFixtures.menu(restaurant, lines);
+        order = BenchmarkFixtures.order(restaurant, menu, lines);
+    }
+
+    @Benchmark
+    public Double calculateTotal() {
+        order.calculateTotal();
+        return order.getTotalAmount();
+    }
+}
@@ -0,0 +1,27 @@
+package com.eduka.restaurant.controller;
+
+import com.eduka.restaurant.dto.KitchenOrderView;
+import com.eduka.restaurant.service.OrderService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.List;
+
+/**
+ * STOMP entry point of the kitchen board.
+ * Subscribing to /app/restaurants/{id}/orders returns the active orders once;
+ * live changes then arrive on /topic/restaurants/{id}/orders.
+ */
+@Controller
+public class KitchenBoardController {
+    
+    @Autowired
+    private OrderService orderService;
+    
+    @SubscribeMapping("/restaurants/{restaurantId}/orders")
+    public List<KitchenOrderView> snapshot(@DestinationVariable Long restaurantId) {
+        return orderService.getKitchenBoard(restaurantId);
+    }
+}
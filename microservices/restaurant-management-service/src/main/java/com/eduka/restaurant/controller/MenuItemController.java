@@ -2,11 +2,15 @@
 package com.eduka.restaurant.controller;
 
 import com.eduka.restaurant.model.MenuItem;
+import com.eduka.restaurant.service.MenuCache;
 import com.eduka.restaurant.service.MenuItemService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -59,16 +63,29 @@ public class MenuItemController {
     
     // Get menu items by restaurant
     @GetMapping("/restaurant/{restaurantId}")
-    public ResponseEntity<List<MenuItem>> getMenuItemsByRestaurant(@PathVariable Long restaurantId) {
-        List<MenuItem> menuItems = menuItemService.getMenuItemsByRestaurant(restaurantId);
-        return ResponseEntity.ok(menuItems);
+    public ResponseEntity<byte[]> getMenuItemsByRestaurant(@PathVariable Long restaurantId, WebRequest request) {
+        return menuResponse(menuItemService.getRestaurantMenu(restaurantId), request);
     }
     
     // Get available menu items by restaurant
     @GetMapping("/restaurant/{restaurantId}/available")
-    public ResponseEntity<List<MenuItem>> getAvailableMenuItemsByRestaurant(@PathVariable Long restaurantId) {
-        List<MenuItem> menuItems = menuItemService.getAvailableMenuItemsByRestaurant(restaurantId);
-        return ResponseEntity.ok(menuItems);
+    public ResponseEntity<byte[]> getAvailableMenuItemsByRestaurant(@PathVariable Long restaurantId, WebRequest request) {
+        return menuResponse(menuItemService.getAvailableRestaurantMenu(restaurantId), request);
+    }
+    
+    // Cached menus are sent as their stored JSON; a matching If-None-Match gets 304 with no body
+    private ResponseEntity<byte[]> menuResponse(MenuCache.Menu menu, WebRequest request) {
+        if (request.checkNotModified(menu.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(menu.etag())
+                .cacheControl(CacheControl.noCache())
+                .build();
+        }
+        return ResponseEntity.ok()
+            .eTag(menu.etag())
+            .cacheControl(CacheControl.noCache())
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(menu.json());
     }
     
     // Get menu items by category
@@ -87,8 +104,10 @@ public class MenuItemController {
     
     // Search menu items
     @GetMapping("/search")
-    public ResponseEntity<List<MenuItem>> searchMenuItems(@RequestParam String name) {
-        List<MenuItem> menuItems = menuItemService.searchMenuItems(name);
+    public ResponseEntity<List<MenuItem>> searchMenuItems(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "50") int limit) {
+        List<MenuItem> menuItems = menuItemService.searchMenuItems(name, limit);
         return ResponseEntity.ok(menuItems);
     }
 }
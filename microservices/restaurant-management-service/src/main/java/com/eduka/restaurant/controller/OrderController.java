@@ -1,15 +1,29 @@
 package com.eduka.restaurant.controller;
 
+import com.eduka.restaurant.dto.BulkStatusUpdateRequest;
+import com.eduka.restaurant.dto.BulkStatusUpdateResult;
 import com.eduka.restaurant.dto.CreateOrderRequest;
+import com.eduka.restaurant.dto.CursorPage;
+import com.eduka.restaurant.dto.RevenueBucket;
+import com.eduka.restaurant.dto.RevenueGranularity;
 import com.eduka.restaurant.model.Order;
 import com.eduka.restaurant.model.OrderStatus;
+import com.eduka.restaurant.service.IdempotencyService;
 import com.eduka.restaurant.service.OrderService;
+import com.eduka.restaurant.service.RevenueRollupService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -20,18 +34,49 @@ import java.util.Optional;
 // @CrossOrigin removed - CORS is now handled globally in SecurityConfig
 public class OrderController {
     
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    
     @Autowired
     private OrderService orderService;
     
+    @Autowired
+    private RevenueRollupService revenueRollupService;
+    
+    @Autowired
+    private IdempotencyService idempotencyService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    /**
+     * Create an order. Clients that may retry should send an Idempotency-Key header:
+     * retries with the same key (and body) return the first result instead of creating a new order.
+     */
     @PostMapping
-    public ResponseEntity<Order> createOrder(@RequestBody CreateOrderRequest request) {
+    public ResponseEntity<Order> createOrder(
+            @RequestBody CreateOrderRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return new ResponseEntity<>(placeOrder(request), HttpStatus.CREATED);
+        }
+        
+        // Keys are scoped per user so two clients can never collide on the same key
+        IdempotencyService.Result<Order> result = idempotencyService.execute(
+            request.getUserId() + ":" + idempotencyKey, request, () -> placeOrder(request));
+        return ResponseEntity.status(HttpStatus.CREATED)
+            .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+            .body(result.value());
+    }
+    
+    private Order placeOrder(CreateOrderRequest request) {
         Order order = new Order();
         order.setUserId(request.getUserId());  // Now accepts String MongoDB ObjectId
         order.setNotes(request.getNotes());
         order.setDeliveryAddress(request.getDeliveryAddress());
         
-        Order created = orderService.createOrder(order, request.getRestaurantId(), request.getMenuItemIds());
-        return new ResponseEntity<>(created, HttpStatus.CREATED);
+        return orderService.createOrder(order, request.getRestaurantId(), request.getMenuItemIds());
     }
     
     @PutMapping("/{id}")
@@ -50,6 +95,13 @@ public class OrderController {
         return ResponseEntity.ok(updated);
     }
     
+    // Body: {"status": "CANCELLED", "orderIds": [..]} or
+    //       {"status": "CANCELLED", "restaurantId": 1, "currentStatus": "PENDING", "createdBefore": "..."}
+    @PatchMapping("/bulk/status")
+    public ResponseEntity<BulkStatusUpdateResult> bulkUpdateStatus(@RequestBody BulkStatusUpdateRequest request) {
+        return ResponseEntity.ok(orderService.bulkUpdateStatus(request));
+    }
+    
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteOrder(@PathVariable Long id) {
         orderService.deleteOrder(id);
@@ -58,7 +110,7 @@ public class OrderController {
     
     @GetMapping("/{id}")
     public ResponseEntity<Order> getOrder(@PathVariable Long id) {
-        Order order = orderService.getOrder(id);
+        Order order = orderService.findOrder(id);
         return ResponseEntity.ok(order);
     }
     
@@ -116,12 +168,94 @@ public class OrderController {
         return ResponseEntity.ok(orders);
     }
     
+    // ============================================
+    // Cursor-paginated listings: ?cursor=<nextCursor>&limit=50
+    // ============================================
+    
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<Order>> getOrdersPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(orderService.getOrdersPage(cursor, limit));
+    }
+    
+    @GetMapping("/restaurant/{restaurantId}/page")
+    public ResponseEntity<CursorPage<Order>> getOrdersPageByRestaurant(
+            @PathVariable Long restaurantId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(orderService.getOrdersPageByRestaurantId(restaurantId, cursor, limit));
+    }
+    
+    @GetMapping("/date-range/page")
+    public ResponseEntity<CursorPage<Order>> getOrdersPageByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(orderService.getOrdersPageByDateRange(startDate, endDate, cursor, limit));
+    }
+    
+    // ============================================
+    // NDJSON streaming: one order per line, flushed as rows are read
+    // ============================================
+    
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamOrders() {
+        return ndjson(out -> orderService.streamAllOrders(order -> writeLine(out, order)));
+    }
+    
+    @GetMapping(value = "/restaurant/{restaurantId}/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamOrdersByRestaurant(@PathVariable Long restaurantId) {
+        return ndjson(out -> orderService.streamOrdersByRestaurantId(restaurantId, order -> writeLine(out, order)));
+    }
+    
+    @GetMapping(value = "/date-range/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamOrdersByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        return ndjson(out -> orderService.streamOrdersByDateRange(startDate, endDate, order -> writeLine(out, order)));
+    }
+    
+    private ResponseEntity<StreamingResponseBody> ndjson(StreamingResponseBody body) {
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+    
+    private void writeLine(OutputStream out, Order order) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(order));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
     @GetMapping("/restaurant/{restaurantId}/revenue")
     public ResponseEntity<Double> getRestaurantRevenue(@PathVariable Long restaurantId) {
         Double revenue = orderService.calculateRestaurantRevenue(restaurantId);
         return ResponseEntity.ok(revenue != null ? revenue : 0.0);
     }
     
+    // Time-bucketed revenue read from the daily rollups, e.g. ?granularity=WEEK&from=2025-01-01&to=2025-03-31
+    @GetMapping("/restaurant/{restaurantId}/revenue/buckets")
+    public ResponseEntity<List<RevenueBucket>> getRestaurantRevenueBuckets(
+            @PathVariable Long restaurantId,
+            @RequestParam(defaultValue = "DAY") RevenueGranularity granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(revenueRollupService.getRevenue(restaurantId, granularity, from, to));
+    }
+    
+    // Recompute the rollups from raw orders (all restaurants, or only ?restaurantId=)
+    @PostMapping("/revenue/rollups/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildRevenueRollups(@RequestParam(required = false) Long restaurantId) {
+        int buckets = restaurantId != null
+            ? revenueRollupService.rebuildRestaurant(restaurantId)
+            : revenueRollupService.rebuildAll();
+        return ResponseEntity.ok(Map.of("buckets", buckets));
+    }
+    
     @PostMapping("/{orderId}/items/{menuItemId}")
     public ResponseEntity<Order> addItemToOrder(
             @PathVariable Long orderId, 
@@ -0,0 +1,37 @@
+package com.eduka.restaurant.controller;
+
+import com.eduka.restaurant.model.OrderOutboxEvent;
+import com.eduka.restaurant.service.OrderOutboxService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/orders/outbox")
+public class OrderOutboxController {
+    
+    @Autowired
+    private OrderOutboxService outboxService;
+    
+    // List notifications that exhausted their publish attempts
+    @GetMapping("/failed")
+    public ResponseEntity<List<OrderOutboxEvent>> getFailedEvents() {
+        return ResponseEntity.ok(outboxService.getFailedEvents());
+    }
+    
+    // Replay every failed notification
+    @PostMapping("/replay")
+    public ResponseEntity<Map<String, Integer>> replayFailedEvents() {
+        int replayed = outboxService.replayFailedEvents();
+        return ResponseEntity.ok(Map.of("replayed", replayed));
+    }
+    
+    // Replay a single failed notification
+    @PostMapping("/{id}/replay")
+    public ResponseEntity<OrderOutboxEvent> replayEvent(@PathVariable Long id) {
+        return ResponseEntity.ok(outboxService.replayEvent(id));
+    }
+}
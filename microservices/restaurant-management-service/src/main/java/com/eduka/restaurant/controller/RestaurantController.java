@@ -72,8 +72,10 @@ public class RestaurantController {
     }
     
     @GetMapping("/search")
-    public ResponseEntity<List<Restaurant>> searchRestaurants(@RequestParam String name) {
-        List<Restaurant> restaurants = restaurantService.searchRestaurantsByName(name);
+    public ResponseEntity<List<Restaurant>> searchRestaurants(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "50") int limit) {
+        List<Restaurant> restaurants = restaurantService.searchRestaurantsByName(name, limit);
         return ResponseEntity.ok(restaurants);
     }
     
@@ -0,0 +1,24 @@
+package com.eduka.restaurant.dto;
+
+import com.eduka.restaurant.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves many orders to one status.
+ * Target either explicit orderIds, or a filter: restaurantId + currentStatus (+ createdBefore).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateRequest {
+    private OrderStatus status; // target status, e.g. COMPLETED or CANCELLED
+    private List<Long> orderIds;
+    private Long restaurantId;
+    private OrderStatus currentStatus;
+    private LocalDateTime createdBefore; // defaults to now
+}
@@ -0,0 +1,15 @@
+package com.eduka.restaurant.dto;
+
+import com.eduka.restaurant.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateResult {
+    private OrderStatus status;
+    private int matched; // existing orders selected by ids or still matching the filter
+    private int updated; // orders whose status actually changed
+}
@@ -0,0 +1,29 @@
+package com.eduka.restaurant.dto;
+
+import com.eduka.restaurant.model.OrderStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Delta pushed on /topic/restaurants/{restaurantId}/orders after the change committed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class KitchenOrderEvent {
+    
+    public enum Type {
+        CREATED,
+        STATUS_CHANGED,
+        ITEMS_CHANGED,
+        UPDATED,
+        DELETED
+    }
+    
+    private Type type;
+    private OrderStatus previousStatus;
+    private KitchenOrderView order;
+}
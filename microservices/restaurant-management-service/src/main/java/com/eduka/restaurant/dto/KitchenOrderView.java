@@ -0,0 +1,55 @@
+package com.eduka.restaurant.dto;
+
+import com.eduka.restaurant.model.Order;
+import com.eduka.restaurant.model.OrderStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Compact order representation pushed to kitchen screens.
+ * Items are only filled in when they changed (snapshot, creation, item edits).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class KitchenOrderView {
+    private Long orderId;
+    private Long restaurantId;
+    private OrderStatus status;
+    private String notes;
+    private Double totalAmount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private List<Line> items;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+        private String name;
+        private Integer quantity;
+    }
+    
+    public static KitchenOrderView of(Order order, boolean withItems) {
+        KitchenOrderView view = new KitchenOrderView();
+        view.setOrderId(order.getId());
+        view.setRestaurantId(order.getRestaurant().getId());
+        view.setStatus(order.getStatus());
+        view.setNotes(order.getNotes());
+        view.setTotalAmount(order.getTotalAmount());
+        view.setCreatedAt(order.getCreatedAt());
+        view.setUpdatedAt(order.getUpdatedAt());
+        if (withItems) {
+            view.setItems(order.getItems().stream()
+                .map(line -> new Line(line.getName(), line.getQuantity()))
+                .toList());
+        }
+        return view;
+    }
+}
@@ -0,0 +1,16 @@
+package com.eduka.restaurant.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueBucket {
+    private LocalDate periodStart;
+    private Double revenue;
+    private Long orderCount;
+}
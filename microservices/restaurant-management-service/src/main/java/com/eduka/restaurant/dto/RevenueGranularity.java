@@ -0,0 +1,7 @@
+package com.eduka.restaurant.dto;
+
+public enum RevenueGranularity {
+    DAY,
+    WEEK,  // ISO weeks, starting on Monday
+    MONTH
+}
@@ -0,0 +1,106 @@
+package com.eduka.restaurant.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cold copy of a COMPLETED or CANCELLED order, moved out of the hot orders table by OrderArchiveService.
+ * Same columns as Order plus archivedAt; rows are written in bulk with SQL and never updated.
+ * Restaurant is a plain id so deleting a restaurant is not blocked by its archive.
+ */
+@Entity
+@Immutable
+@Table(name = "orders_archive", indexes = {
+    @Index(name = "idx_orders_archive_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_orders_archive_restaurant_created_at_id", columnList = "restaurant_id, created_at, id"),
+    @Index(name = "idx_orders_archive_user_id", columnList = "user_id")
+})
+@Data
+@NoArgsConstructor
+public class ArchivedOrder {
+    
+    @Id
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+    
+    @Column(name = "restaurant_id", nullable = false)
+    private Long restaurantId;
+    
+    @Column(nullable = false)
+    private Double totalAmount;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderStatus status;
+    
+    private String notes;
+    
+    @Column(name = "delivery_address")
+    private String deliveryAddress;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+    
+    @Column(nullable = false)
+    private Long version;
+    
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+    
+    @OneToMany(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", insertable = false, updatable = false)
+    @BatchSize(size = 50)
+    @OrderBy("id ASC")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<ArchivedOrderLine> items = new ArrayList<>();
+    
+    /**
+     * Detached, read-only Order view of this row for the existing read paths.
+     * A null restaurant (deleted since the order was archived) becomes a placeholder that keeps its id.
+     */
+    public Order toOrder(Restaurant restaurant) {
+        Order order = new Order();
+        order.setId(id);
+        order.setUserId(userId);
+        order.setRestaurant(restaurant != null ? restaurant : deletedRestaurant());
+        order.setTotalAmount(totalAmount);
+        order.setStatus(status);
+        order.setNotes(notes);
+        order.setDeliveryAddress(deliveryAddress);
+        order.setCreatedAt(createdAt);
+        order.setUpdatedAt(updatedAt);
+        order.setCompletedAt(completedAt);
+        order.setVersion(version);
+        for (ArchivedOrderLine archived : items) {
+            OrderLine line = new OrderLine(archived.getId(), order, archived.getMenuItemId(),
+                archived.getName(), archived.getUnitPrice(), archived.getQuantity());
+            order.getItems().add(line);
+        }
+        return order;
+    }
+    
+    private Restaurant deletedRestaurant() {
+        Restaurant placeholder = new Restaurant();
+        placeholder.setId(restaurantId);
+        placeholder.setName("Deleted restaurant #" + restaurantId);
+        return placeholder;
+    }
+}
@@ -0,0 +1,37 @@
+package com.eduka.restaurant.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Cold copy of an OrderLine, archived together with its order.
+ */
+@Entity
+@Immutable
+@Table(name = "order_lines_archive", indexes = {
+    @Index(name = "idx_order_lines_archive_order_id", columnList = "order_id")
+})
+@Data
+@NoArgsConstructor
+public class ArchivedOrderLine {
+    
+    @Id
+    private Long id;
+    
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+    
+    @Column(name = "menu_item_id", nullable = false)
+    private Long menuItemId;
+    
+    @Column(nullable = false)
+    private String name;
+    
+    @Column(name = "unit_price", nullable = false)
+    private Double unitPrice;
+    
+    @Column(nullable = false)
+    private Integer quantity;
+}
@@ -4,14 +4,26 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+    // Keyset pagination / streaming order
+    @Index(name = "idx_orders_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_orders_restaurant_created_at_id", columnList = "restaurant_id, created_at, id"),
+    // Archival candidates (OrderArchiveService)
+    @Index(name = "idx_orders_status_updated_at", columnList = "status, updated_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,7 +31,8 @@ import java.util.List;
 public class Order {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "user_id", nullable = false)
@@ -30,14 +43,13 @@ public class Order {
     @JsonIgnoreProperties({"menuItems", "orders", "assignedUserIds"})
     private Restaurant restaurant;
     
-    @ManyToMany(fetch = FetchType.EAGER)
-    @JoinTable(
-        name = "order_menu_items",
-        joinColumns = @JoinColumn(name = "order_id"),
-        inverseJoinColumns = @JoinColumn(name = "menu_item_id")
-    )
-    @JsonIgnoreProperties({"restaurant"})
-    private List<MenuItem> items = new ArrayList<>();
+    // Lazy, loaded in batches of orders (one IN query per 50 orders instead of one per order)
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
+    @OrderBy("id ASC")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<OrderLine> items = new ArrayList<>();
     
     @Column(nullable = false)
     private Double totalAmount;
@@ -60,6 +72,12 @@ public class Order {
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
     
+    // Optimistic lock; OrderService retries item changes that lose the race
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version = 0L;
+    
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
@@ -67,21 +85,50 @@ public class Order {
     
     // Helper methods
     public void addItem(MenuItem menuItem) {
-        items.add(menuItem);
+        addLine(menuItem);
+        calculateTotal();
+    }
+    
+    public void addItems(Collection<MenuItem> menuItems) {
+        menuItems.forEach(this::addLine);
         calculateTotal();
     }
     
+    /**
+     * Remove one unit of the menu item; the line disappears when its quantity reaches zero.
+     */
     public void removeItem(MenuItem menuItem) {
-        items.remove(menuItem);
+        findLine(menuItem.getId()).ifPresent(line -> {
+            line.setQuantity(line.getQuantity() - 1);
+            if (line.getQuantity() <= 0) {
+                items.remove(line);
+            }
+        });
         calculateTotal();
     }
     
     public void calculateTotal() {
         this.totalAmount = items.stream()
-            .mapToDouble(MenuItem::getPrice)
+            .mapToDouble(OrderLine::getLineTotal)
             .sum();
     }
     
+    // Ordering the same item again increments its line instead of adding a row
+    private void addLine(MenuItem menuItem) {
+        OrderLine line = findLine(menuItem.getId()).orElseGet(() -> {
+            OrderLine created = OrderLine.of(this, menuItem);
+            items.add(created);
+            return created;
+        });
+        line.setQuantity(line.getQuantity() + 1);
+    }
+    
+    private Optional<OrderLine> findLine(Long menuItemId) {
+        return items.stream()
+            .filter(line -> line.getMenuItemId().equals(menuItemId))
+            .findFirst();
+    }
+    
     public void completeOrder() {
         this.status = OrderStatus.COMPLETED;
         this.completedAt = LocalDateTime.now();
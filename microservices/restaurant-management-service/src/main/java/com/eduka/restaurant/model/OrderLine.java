@@ -0,0 +1,61 @@
+package com.eduka.restaurant.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * One line of an order: a menu item with its quantity.
+ * Name and unit price are copied at order time so later menu changes never rewrite past orders.
+ */
+@Entity
+@Table(name = "order_lines", indexes = {
+    @Index(name = "idx_order_lines_order_id", columnList = "order_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderLine {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_lines_seq")
+    @SequenceGenerator(name = "order_lines_seq", sequenceName = "order_lines_seq", allocationSize = 50)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false)
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Order order;
+    
+    @Column(name = "menu_item_id", nullable = false)
+    private Long menuItemId;
+    
+    @Column(nullable = false)
+    private String name; // snapshot of MenuItem.name
+    
+    @Column(name = "unit_price", nullable = false)
+    private Double unitPrice; // snapshot of MenuItem.price
+    
+    @Column(nullable = false)
+    private Integer quantity = 1;
+    
+    public static OrderLine of(Order order, MenuItem menuItem) {
+        OrderLine line = new OrderLine();
+        line.setOrder(order);
+        line.setMenuItemId(menuItem.getId());
+        line.setName(menuItem.getName());
+        line.setUnitPrice(menuItem.getPrice());
+        line.setQuantity(0);
+        return line;
+    }
+    
+    public double getLineTotal() {
+        return unitPrice * quantity;
+    }
+}
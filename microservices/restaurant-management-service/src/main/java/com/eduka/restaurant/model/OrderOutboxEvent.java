@@ -0,0 +1,74 @@
+package com.eduka.restaurant.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Order notification waiting to be published to RabbitMQ.
+ * Written in the same transaction as the Order and drained by OrderOutboxRelay.
+ */
+@Entity
+@Table(name = "order_outbox", indexes = {
+    @Index(name = "idx_order_outbox_status", columnList = "status, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderOutboxEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_outbox_seq")
+    @SequenceGenerator(name = "order_outbox_seq", sequenceName = "order_outbox_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+    
+    @Column(name = "routing_key", nullable = false)
+    private String routingKey;
+    
+    @Lob
+    @Column(nullable = false)
+    private String payload; // JSON NotificationMessageDTO
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxStatus status = OutboxStatus.PENDING;
+    
+    @Column(nullable = false)
+    private Integer attempts = 0;
+    
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+    
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+    
+    // Helper methods
+    public void markSent() {
+        this.status = OutboxStatus.SENT;
+        this.sentAt = LocalDateTime.now();
+        this.lastError = null;
+    }
+    
+    public void markAttemptFailed(String error, int maxAttempts) {
+        this.attempts = attempts + 1;
+        this.lastError = error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+        if (attempts >= maxAttempts) {
+            this.status = OutboxStatus.FAILED;
+        }
+    }
+    
+    public void resetForReplay() {
+        this.status = OutboxStatus.PENDING;
+        this.attempts = 0;
+        this.lastError = null;
+    }
+}
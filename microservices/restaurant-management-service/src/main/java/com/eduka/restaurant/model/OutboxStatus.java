@@ -0,0 +1,7 @@
+package com.eduka.restaurant.model;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
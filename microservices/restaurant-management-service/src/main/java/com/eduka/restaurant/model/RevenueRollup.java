@@ -0,0 +1,40 @@
+package com.eduka.restaurant.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Revenue and order count of COMPLETED orders for one restaurant and one day.
+ * Maintained incrementally by RevenueRollupService on every status/amount change.
+ */
+@Entity
+@Table(name = "restaurant_revenue_daily", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_revenue_daily_restaurant_date", columnNames = {"restaurant_id", "revenue_date"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevenueRollup {
+    
+    @Id
+    // Stays IDENTITY: rebuilds write buckets with INSERT ... SELECT and rely on the column default,
+    // and single buckets are created one at a time, so there is no insert batch to gain
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "restaurant_id", nullable = false)
+    private Long restaurantId;
+    
+    @Column(name = "revenue_date", nullable = false)
+    private LocalDate revenueDate; // day the order was completed
+    
+    @Column(nullable = false)
+    private Double revenue = 0.0;
+    
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount = 0L;
+}
@@ -0,0 +1,81 @@
+package com.eduka.restaurant.monitoring;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Per-thread SQL accounting fed by {@link InstrumentedDataSource}.
+ * Scopes are opened around units of work (an HTTP request, a repository call, a test) and every
+ * statement executed on the thread is added to all scopes open at that moment.
+ */
+public final class SqlStatistics {
+
+    // Only set while a scope is open, so threads that never open one pay a single lookup per statement
+    private static final ThreadLocal<Deque<SqlScope>> SCOPES = new ThreadLocal<>();
+
+    private SqlStatistics() {
+    }
+
+    /**
+     * Count everything the current thread executes until the returned scope is closed.
+     * Meant for tests: {@code try (SqlScope sql = SqlStatistics.capture()) { ... }}
+     */
+    public static SqlScope capture() {
+        return open(SqlScope.Kind.CAPTURE);
+    }
+
+    static SqlScope open(SqlScope.Kind kind) {
+        Deque<SqlScope> scopes = SCOPES.get();
+        if (scopes == null) {
+            scopes = new ArrayDeque<>();
+            SCOPES.set(scopes);
+        }
+        SqlScope scope = new SqlScope(kind);
+        scopes.push(scope);
+        return scope;
+    }
+
+    static void close(SqlScope scope) {
+        Deque<SqlScope> scopes = SCOPES.get();
+        if (scopes != null && scopes.remove(scope) && scopes.isEmpty()) {
+            SCOPES.remove();
+        }
+    }
+
+    static boolean isOpen(SqlScope.Kind kind) {
+        Deque<SqlScope> scopes = SCOPES.get();
+        if (scopes == null) {
+            return false;
+        }
+        for (SqlScope scope : scopes) {
+            if (scope.getKind() == kind) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean isActive() {
+        return SCOPES.get() != null;
+    }
+
+    static void statement(String sql, long nanos, long rows) {
+        Deque<SqlScope> scopes = SCOPES.get();
+        if (scopes == null) {
+            return;
+        }
+        for (SqlScope scope : scopes) {
+            scope.statement(sql, nanos, rows);
+        }
+    }
+
+    static void rows(long rows) {
+        Deque<SqlScope> scopes = SCOPES.get();
+        if (scopes == null) {
+            return;
+        }
+        for (SqlScope scope : scopes) {
+            scope.rows(rows);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.eduka.restaurant.model.MenuItem;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -21,4 +22,7 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
     List<MenuItem> findByNameContainingIgnoreCase(String name);
     
     List<MenuItem> findByRestaurantIdAndCategory(Long restaurantId, String category);
+    
+    // Single IN (...) query used to resolve all items of an order at once
+    List<MenuItem> findByIdIn(Collection<Long> ids);
 }
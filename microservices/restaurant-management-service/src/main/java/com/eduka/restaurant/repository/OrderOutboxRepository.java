@@ -0,0 +1,41 @@
+package com.eduka.restaurant.repository;
+
+import com.eduka.restaurant.model.OrderOutboxEvent;
+import com.eduka.restaurant.model.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OrderOutboxRepository extends JpaRepository<OrderOutboxEvent, Long> {
+    
+    // Lock timeout -2 = SKIP LOCKED where supported, so several relays never publish the same row concurrently
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    List<OrderOutboxEvent> findByStatusOrderByIdAsc(OutboxStatus status, Pageable pageable);
+    
+    List<OrderOutboxEvent> findByStatus(OutboxStatus status);
+    
+    long countByStatus(OutboxStatus status);
+    
+    @Query("SELECT MIN(e.createdAt) FROM OrderOutboxEvent e WHERE e.status = :status")
+    LocalDateTime findOldestCreatedAtByStatus(@Param("status") OutboxStatus status);
+    
+    @Modifying
+    @Query("UPDATE OrderOutboxEvent e SET e.status = 'PENDING', e.attempts = 0, e.lastError = NULL WHERE e.status = 'FAILED'")
+    int resetAllFailed();
+    
+    @Modifying
+    @Query("DELETE FROM OrderOutboxEvent e WHERE e.status = 'SENT' AND e.sentAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+}
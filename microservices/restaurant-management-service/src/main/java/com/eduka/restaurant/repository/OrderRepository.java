@@ -2,34 +2,34 @@ package com.eduka.restaurant.repository;
 
 import com.eduka.restaurant.model.Order;
 import com.eduka.restaurant.model.OrderStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+/**
+ * Hot-table queries are declared here; the finders shared with the archive live in
+ * OrderRepositoryCustom and are implemented as a union by OrderRepositoryImpl.
+ */
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
     
-    List<Order> findByUserId(String userId);  // MongoDB ObjectId
+    @Query("SELECT o.id FROM Order o WHERE o.restaurant.id = :restaurantId AND o.status = :status " +
+           "AND o.createdAt < :createdBefore ORDER BY o.id")
+    List<Long> findIdsByRestaurantIdAndStatusCreatedBefore(@Param("restaurantId") Long restaurantId,
+                                                           @Param("status") OrderStatus status,
+                                                           @Param("createdBefore") LocalDateTime createdBefore);
     
-    List<Order> findByRestaurantId(Long restaurantId);
+    List<Order> findByRestaurantIdAndStatusInOrderByCreatedAtAsc(Long restaurantId, Collection<OrderStatus> statuses);
     
-    List<Order> findByStatus(OrderStatus status);
-    
-    List<Order> findByUserIdAndStatus(String userId, OrderStatus status);  // MongoDB ObjectId
-    
-    List<Order> findByRestaurantIdAndStatus(Long restaurantId, OrderStatus status);
-    
-    @Query("SELECT o FROM Order o WHERE o.createdAt BETWEEN :startDate AND :endDate")
-    List<Order> findByDateRange(@Param("startDate") LocalDateTime startDate, 
-                                 @Param("endDate") LocalDateTime endDate);
-    
-    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id = :id")
-    Order findByIdWithItems(@Param("id") Long id);
-    
-    @Query("SELECT SUM(o.totalAmount) FROM Order o WHERE o.restaurant.id = :restaurantId AND o.status = 'COMPLETED'")
-    Double calculateTotalRevenue(@Param("restaurantId") Long restaurantId);
+    // Archival candidates: terminal orders untouched since the cutoff, oldest ids first
+    @Query("SELECT o.id FROM Order o WHERE o.status IN :statuses AND o.updatedAt < :cutoff ORDER BY o.id")
+    List<Long> findIdsToArchive(@Param("statuses") Collection<OrderStatus> statuses,
+                                @Param("cutoff") LocalDateTime cutoff,
+                                Pageable pageable);
 }
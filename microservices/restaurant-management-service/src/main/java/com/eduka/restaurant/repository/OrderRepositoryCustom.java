@@ -0,0 +1,49 @@
+package com.eduka.restaurant.repository;
+
+import com.eduka.restaurant.model.Order;
+import com.eduka.restaurant.model.OrderStatus;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Order read methods that span the hot orders table and orders_archive.
+ * Archived orders come back as detached, read-only Order instances; findById and
+ * the other inherited CRUD methods stay on the hot table so updates never touch the archive.
+ */
+public interface OrderRepositoryCustom {
+    
+    List<Order> findByUserId(String userId);  // MongoDB ObjectId
+    
+    List<Order> findByRestaurantId(Long restaurantId);
+    
+    List<Order> findByStatus(OrderStatus status);
+    
+    List<Order> findByUserIdAndStatus(String userId, OrderStatus status);  // MongoDB ObjectId
+    
+    List<Order> findByRestaurantIdAndStatus(Long restaurantId, OrderStatus status);
+    
+    List<Order> findByDateRange(LocalDateTime startDate, LocalDateTime endDate);
+    
+    Order findByIdWithItems(Long id);
+    
+    Double calculateTotalRevenue(Long restaurantId);
+    
+    // Keyset pagination on (createdAt DESC, id DESC): pass the last row of the previous page
+    // (or OrderCursor.START) and a Pageable limited to the page size, no OFFSET/COUNT involved
+    List<Order> findPageBefore(LocalDateTime createdAt, Long id, Pageable pageable);
+    
+    List<Order> findPageByRestaurantBefore(Long restaurantId, LocalDateTime createdAt, Long id, Pageable pageable);
+    
+    List<Order> findPageByDateRangeBefore(LocalDateTime startDate, LocalDateTime endDate,
+                                          LocalDateTime createdAt, Long id, Pageable pageable);
+    
+    // Streaming variants: rows are read from JDBC cursors; callers must consume them inside a transaction
+    Stream<Order> streamAll();
+    
+    Stream<Order> streamByRestaurantId(Long restaurantId);
+    
+    Stream<Order> streamByDateRange(LocalDateTime startDate, LocalDateTime endDate);
+}
@@ -0,0 +1,254 @@
+package com.eduka.restaurant.repository;
+
+import com.eduka.restaurant.model.ArchivedOrder;
+import com.eduka.restaurant.model.Order;
+import com.eduka.restaurant.model.OrderStatus;
+import com.eduka.restaurant.model.Restaurant;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+/**
+ * Union read path over orders and orders_archive (see OrderRepositoryCustom).
+ * Each query runs once per table with the same predicate; ordered results are merged on
+ * (createdAt DESC, id DESC) so keyset pages and streams keep their order across both tables.
+ */
+public class OrderRepositoryImpl implements OrderRepositoryCustom {
+    
+    // Only terminal orders are ever archived
+    public static final EnumSet<OrderStatus> ARCHIVED_STATUSES = EnumSet.of(OrderStatus.COMPLETED, OrderStatus.CANCELLED);
+    
+    private static final Comparator<Order> NEWEST_FIRST =
+        Comparator.comparing(Order::getCreatedAt).thenComparing(Order::getId).reversed();
+    
+    // Written against Order; archiveQuery maps o.restaurant.id to ArchivedOrder.restaurantId
+    private static final String RESTAURANT = "o.restaurant.id = :restaurantId";
+    private static final String KEYSET = "(o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id))";
+    private static final String NEWEST_FIRST_ORDER = " ORDER BY o.createdAt DESC, o.id DESC";
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<Order> findByUserId(String userId) {
+        return union("o.userId = :userId", Map.of("userId", userId));
+    }
+    
+    @Override
+    public List<Order> findByRestaurantId(Long restaurantId) {
+        return union(RESTAURANT, Map.of("restaurantId", restaurantId));
+    }
+    
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        return union("o.status = :status", Map.of("status", status), ARCHIVED_STATUSES.contains(status));
+    }
+    
+    @Override
+    public List<Order> findByUserIdAndStatus(String userId, OrderStatus status) {
+        return union("o.userId = :userId AND o.status = :status", Map.of("userId", userId, "status", status),
+            ARCHIVED_STATUSES.contains(status));
+    }
+    
+    @Override
+    public List<Order> findByRestaurantIdAndStatus(Long restaurantId, OrderStatus status) {
+        return union(RESTAURANT + " AND o.status = :status", Map.of("restaurantId", restaurantId, "status", status),
+            ARCHIVED_STATUSES.contains(status));
+    }
+    
+    @Override
+    public List<Order> findByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return union("o.createdAt BETWEEN :startDate AND :endDate", Map.of("startDate", startDate, "endDate", endDate));
+    }
+    
+    @Override
+    public Order findByIdWithItems(Long id) {
+        List<Order> hot = entityManager.createQuery("SELECT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id = :id", Order.class)
+            .setParameter("id", id)
+            .getResultList();
+        if (!hot.isEmpty()) {
+            return hot.get(0);
+        }
+        ArchivedOrder archived = entityManager.find(ArchivedOrder.class, id);
+        return archived != null ? toOrder(archived) : null;
+    }
+    
+    @Override
+    public Double calculateTotalRevenue(Long restaurantId) {
+        Double hot = entityManager.createQuery(
+                "SELECT SUM(o.totalAmount) FROM Order o WHERE o.restaurant.id = :restaurantId AND o.status = 'COMPLETED'", Double.class)
+            .setParameter("restaurantId", restaurantId)
+            .getSingleResult();
+        Double archived = entityManager.createQuery(
+                "SELECT SUM(o.totalAmount) FROM ArchivedOrder o WHERE o.restaurantId = :restaurantId AND o.status = 'COMPLETED'", Double.class)
+            .setParameter("restaurantId", restaurantId)
+            .getSingleResult();
+        if (hot == null && archived == null) {
+            return null;
+        }
+        return (hot != null ? hot : 0.0) + (archived != null ? archived : 0.0);
+    }
+    
+    // ============================================
+    // Keyset pages: top N of each table, merged, cut to N
+    // ============================================
+    
+    @Override
+    public List<Order> findPageBefore(LocalDateTime createdAt, Long id, Pageable pageable) {
+        return mergedPage(KEYSET, Map.of("createdAt", createdAt, "id", id), pageable);
+    }
+    
+    @Override
+    public List<Order> findPageByRestaurantBefore(Long restaurantId, LocalDateTime createdAt, Long id, Pageable pageable) {
+        return mergedPage(RESTAURANT + " AND " + KEYSET,
+            Map.of("restaurantId", restaurantId, "createdAt", createdAt, "id", id), pageable);
+    }
+    
+    @Override
+    public List<Order> findPageByDateRangeBefore(LocalDateTime startDate, LocalDateTime endDate,
+                                                 LocalDateTime createdAt, Long id, Pageable pageable) {
+        return mergedPage("o.createdAt BETWEEN :startDate AND :endDate AND " + KEYSET,
+            Map.of("startDate", startDate, "endDate", endDate, "createdAt", createdAt, "id", id), pageable);
+    }
+    
+    private List<Order> mergedPage(String predicate, Map<String, Object> parameters, Pageable pageable) {
+        int limit = pageable.getPageSize();
+        List<Order> hot = hotQuery(predicate + NEWEST_FIRST_ORDER, parameters).setMaxResults(limit).getResultList();
+        List<Order> archived = archiveQuery(predicate + NEWEST_FIRST_ORDER, parameters).setMaxResults(limit).getResultList()
+            .stream().map(this::toOrder).toList();
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        List<Order> merged = new ArrayList<>(hot.size() + archived.size());
+        merged.addAll(hot);
+        merged.addAll(archived);
+        merged.sort(NEWEST_FIRST);
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+    
+    // ============================================
+    // Streams: two cursors merged on the fly
+    // ============================================
+    
+    @Override
+    public Stream<Order> streamAll() {
+        return mergedStream("1 = 1", Map.of());
+    }
+    
+    @Override
+    public Stream<Order> streamByRestaurantId(Long restaurantId) {
+        return mergedStream(RESTAURANT, Map.of("restaurantId", restaurantId));
+    }
+    
+    @Override
+    public Stream<Order> streamByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        return mergedStream("o.createdAt BETWEEN :startDate AND :endDate", Map.of("startDate", startDate, "endDate", endDate));
+    }
+    
+    // Lines are fetch-joined: each row is detached after use, so lazy lines would cost one query per order
+    private Stream<Order> mergedStream(String predicate, Map<String, Object> parameters) {
+        Stream<Order> hot = bind(entityManager.createQuery(
+                "SELECT o FROM Order o LEFT JOIN FETCH o.items WHERE " + predicate + NEWEST_FIRST_ORDER, Order.class), parameters)
+            .setHint(HINT_FETCH_SIZE, 200)
+            .getResultStream();
+        Stream<Order> archived = bind(entityManager.createQuery(
+                "SELECT o FROM ArchivedOrder o LEFT JOIN FETCH o.items WHERE " + archivePredicate(predicate) + NEWEST_FIRST_ORDER,
+                ArchivedOrder.class), parameters)
+            .setHint(HINT_FETCH_SIZE, 200)
+            .getResultStream()
+            .map(row -> {
+                Order order = toOrder(row);
+                // The converted Order is all the caller sees; keep the session from growing with archive rows
+                entityManager.detach(row);
+                return order;
+            });
+        return mergeSorted(hot, archived, NEWEST_FIRST);
+    }
+    
+    private static <T> Stream<T> mergeSorted(Stream<T> first, Stream<T> second, Comparator<T> order) {
+        Iterator<T> a = first.iterator();
+        Iterator<T> b = second.iterator();
+        Iterator<T> merged = new Iterator<>() {
+            private T nextA = a.hasNext() ? a.next() : null;
+            private T nextB = b.hasNext() ? b.next() : null;
+            
+            @Override
+            public boolean hasNext() {
+                return nextA != null || nextB != null;
+            }
+            
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T result;
+                if (nextB == null || (nextA != null && order.compare(nextA, nextB) <= 0)) {
+                    result = nextA;
+                    nextA = a.hasNext() ? a.next() : null;
+                } else {
+                    result = nextB;
+                    nextB = b.hasNext() ? b.next() : null;
+                }
+                return result;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(first::close)
+            .onClose(second::close);
+    }
+    
+    // ============================================
+    // Helpers
+    // ============================================
+    
+    private List<Order> union(String predicate, Map<String, Object> parameters) {
+        return union(predicate, parameters, true);
+    }
+    
+    private List<Order> union(String predicate, Map<String, Object> parameters, boolean includeArchive) {
+        List<Order> orders = new ArrayList<>(hotQuery(predicate, parameters).getResultList());
+        if (includeArchive) {
+            archiveQuery(predicate, parameters).getResultList().forEach(archived -> orders.add(toOrder(archived)));
+        }
+        return orders;
+    }
+    
+    private TypedQuery<Order> hotQuery(String predicate, Map<String, Object> parameters) {
+        return bind(entityManager.createQuery("SELECT o FROM Order o WHERE " + predicate, Order.class), parameters);
+    }
+    
+    private TypedQuery<ArchivedOrder> archiveQuery(String predicate, Map<String, Object> parameters) {
+        return bind(entityManager.createQuery("SELECT o FROM ArchivedOrder o WHERE " + archivePredicate(predicate), ArchivedOrder.class), parameters);
+    }
+    
+    private static String archivePredicate(String predicate) {
+        return predicate.replace("o.restaurant.id", "o.restaurantId");
+    }
+    
+    private static <T> TypedQuery<T> bind(TypedQuery<T> query, Map<String, Object> parameters) {
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+    
+    // Null when the restaurant was deleted after archiving; toOrder then puts a placeholder in its place
+    private Order toOrder(ArchivedOrder archived) {
+        return archived.toOrder(entityManager.find(Restaurant.class, archived.getRestaurantId()));
+    }
+}
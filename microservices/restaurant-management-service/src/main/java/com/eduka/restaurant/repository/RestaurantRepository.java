@@ -1,8 +1,11 @@
 package com.eduka.restaurant.repository;
 
 import com.eduka.restaurant.model.Restaurant;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -11,6 +14,11 @@ import java.util.List;
 @Repository
 public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
     
+    // Served from the query cache; any write to restaurants invalidates it
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "active-restaurants")
+    })
     List<Restaurant> findByIsActiveTrue();
     
     List<Restaurant> findByType(String type);
@@ -0,0 +1,39 @@
+package com.eduka.restaurant.repository;
+
+import com.eduka.restaurant.model.RevenueRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface RevenueRollupRepository extends JpaRepository<RevenueRollup, Long> {
+    
+    List<RevenueRollup> findByRestaurantIdAndRevenueDateBetweenOrderByRevenueDateAsc(Long restaurantId, LocalDate from, LocalDate to);
+    
+    boolean existsByRestaurantIdAndRevenueDate(Long restaurantId, LocalDate revenueDate);
+    
+    @Query("SELECT SUM(r.revenue) FROM RevenueRollup r WHERE r.restaurantId = :restaurantId")
+    Double sumRevenueByRestaurantId(@Param("restaurantId") Long restaurantId);
+    
+    // Atomic in-place increment, concurrent completions on the same day never overwrite each other
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE RevenueRollup r SET r.revenue = r.revenue + :amount, r.orderCount = r.orderCount + :count " +
+           "WHERE r.restaurantId = :restaurantId AND r.revenueDate = :revenueDate")
+    int increment(@Param("restaurantId") Long restaurantId,
+                  @Param("revenueDate") LocalDate revenueDate,
+                  @Param("amount") Double amount,
+                  @Param("count") Long count);
+    
+    @Modifying
+    @Query("DELETE FROM RevenueRollup r WHERE r.restaurantId = :restaurantId")
+    int deleteByRestaurantIdInBulk(@Param("restaurantId") Long restaurantId);
+    
+    @Modifying
+    @Query("DELETE FROM RevenueRollup r")
+    int deleteAllInBulk();
+}
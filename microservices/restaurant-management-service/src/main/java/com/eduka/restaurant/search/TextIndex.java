@@ -0,0 +1,299 @@
+package com.eduka.restaurant.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index for search-as-you-type.
+ * Terms live in a sorted dictionary (exact and prefix lookups) and a trigram index over the
+ * dictionary finds near spellings for typo tolerance. Every query token must match; documents
+ * are ranked by how well each token matched (exact > prefix > typo) times the field weight.
+ * Thread-safe: one writer or many readers at a time.
+ */
+public class TextIndex<K extends Comparable<K>> {
+
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{Alnum}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final int GRAM = 3;
+
+    private static final float EXACT = 1.0f;
+    private static final float PREFIX = 0.8f;
+    private static final float TYPO = 0.6f;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // term -> (document -> best field weight of that term in the document)
+    private final NavigableMap<String, Map<K, Float>> postings = new TreeMap<>();
+    // trigram -> dictionary terms containing it
+    private final Map<String, Set<String>> termsByGram = new HashMap<>();
+    // document -> its terms, so updates and removals touch only its own postings
+    private final Map<K, Map<String, Float>> documents = new HashMap<>();
+
+    public static Field field(String text, float weight) {
+        return new Field(text, weight);
+    }
+
+    /**
+     * Add or replace a document.
+     */
+    public void put(K key, Field... fields) {
+        Map<String, Float> terms = new HashMap<>();
+        for (Field field : fields) {
+            for (String token : tokenize(field.text())) {
+                terms.merge(token, field.weight(), Math::max);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(key);
+            if (terms.isEmpty()) {
+                return;
+            }
+            terms.forEach((term, weight) -> {
+                Map<K, Float> docs = postings.get(term);
+                if (docs == null) {
+                    docs = new HashMap<>();
+                    postings.put(term, docs);
+                    for (String gram : grams(term)) {
+                        termsByGram.computeIfAbsent(gram, g -> new HashSet<>()).add(term);
+                    }
+                }
+                docs.put(key, weight);
+            });
+            documents.put(key, terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(K key) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsByGram.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeInternal(K key) {
+        Map<String, Float> terms = documents.remove(key);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            Map<K, Float> docs = postings.get(term);
+            docs.remove(key);
+            if (docs.isEmpty()) {
+                postings.remove(term);
+                for (String gram : grams(term)) {
+                    Set<String> gramTerms = termsByGram.get(gram);
+                    gramTerms.remove(term);
+                    if (gramTerms.isEmpty()) {
+                        termsByGram.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return up to limit document keys, best match first
+     */
+    public List<K> search(String query, int limit) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (tokens.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        Map<K, Float> scores;
+        lock.readLock().lock();
+        try {
+            scores = matchToken(tokens.get(0));
+            for (int i = 1; i < tokens.size() && !scores.isEmpty(); i++) {
+                Map<K, Float> tokenScores = matchToken(tokens.get(i));
+                scores.keySet().retainAll(tokenScores.keySet());
+                scores.replaceAll((key, score) -> score + tokenScores.get(key));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return topK(scores, limit);
+    }
+
+    // Keep only the best `limit` entries in a min-heap instead of sorting every match
+    private List<K> topK(Map<K, Float> scores, int limit) {
+        Comparator<Map.Entry<K, Float>> ranking = Map.Entry.<K, Float>comparingByValue(Comparator.reverseOrder())
+            .thenComparing(Map.Entry.comparingByKey());
+        PriorityQueue<Map.Entry<K, Float>> heap = new PriorityQueue<>(Math.min(limit, scores.size()) + 1, ranking.reversed());
+        for (Map.Entry<K, Float> entry : scores.entrySet()) {
+            heap.offer(entry);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<Map.Entry<K, Float>> best = new ArrayList<>(heap);
+        best.sort(ranking);
+        return best.stream().map(Map.Entry::getKey).toList();
+    }
+
+    private Map<K, Float> matchToken(String token) {
+        Map<K, Float> best = new HashMap<>();
+
+        // Exact and prefix matches: one range of the sorted dictionary
+        for (Map.Entry<String, Map<K, Float>> entry : postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            String term = entry.getKey();
+            float quality = term.length() == token.length() ? EXACT : PREFIX * token.length() / term.length();
+            collect(best, entry.getValue(), quality);
+        }
+
+        int maxEdits = maxEdits(token.length());
+        if (maxEdits == 0) {
+            return best;
+        }
+        for (String term : typoCandidates(token, maxEdits)) {
+            if (term.startsWith(token)) {
+                continue; // already scored as a prefix
+            }
+            // Compare with the whole term and with its start, so "chiken" finds "chicken" and "chik" finds "chickpea"
+            int distance = Math.min(
+                distance(token, term, maxEdits),
+                distance(token, term.substring(0, Math.min(term.length(), token.length())), maxEdits));
+            if (distance <= maxEdits) {
+                collect(best, postings.get(term), TYPO * (1.0f - (float) distance / (token.length() + 1)));
+            }
+        }
+        return best;
+    }
+
+    private void collect(Map<K, Float> best, Map<K, Float> docs, float quality) {
+        docs.forEach((key, weight) -> best.merge(key, quality * weight, Math::max));
+    }
+
+    /**
+     * Terms sharing enough trigrams with the token to be within maxEdits; one edit breaks at most GRAM grams.
+     * The end-of-word gram is not required, so typos in a prefix are found too.
+     */
+    private Set<String> typoCandidates(String token, int maxEdits) {
+        List<String> grams = grams(token);
+        int required = Math.max(1, grams.size() - 1 - GRAM * maxEdits);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : grams) {
+            for (String term : termsByGram.getOrDefault(gram, Collections.emptySet())) {
+                shared.merge(term, 1, Integer::sum);
+            }
+        }
+        Set<String> candidates = new HashSet<>();
+        shared.forEach((term, count) -> {
+            if (count >= required) {
+                candidates.add(term);
+            }
+        });
+        return candidates;
+    }
+
+    private static int maxEdits(int length) {
+        if (length < 4) {
+            return 0;
+        }
+        return length < 8 ? 1 : 2;
+    }
+
+    /**
+     * Optimal string alignment distance (Levenshtein plus adjacent transpositions),
+     * giving up as soon as it must exceed max.
+     */
+    static int distance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    private static List<String> grams(String term) {
+        String padded = "$" + term + "$";
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + GRAM <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    /**
+     * Lower-cased, accent-free alphanumeric tokens ("Crème brûlée" -> [creme, brulee]).
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return Arrays.stream(NON_ALPHANUMERIC.split(normalized.toLowerCase(Locale.ROOT)))
+            .filter(token -> !token.isEmpty())
+            .toList();
+    }
+
+    public record Field(String text, float weight) {
+    }
+}
@@ -0,0 +1,148 @@
+package com.eduka.restaurant.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * In-memory Idempotency-Key store.
+ * The first request for a key runs the action; identical requests arriving while it runs wait
+ * for the same result, and later replays get the stored result until it expires.
+ * Bounded in size and time: expired entries are purged periodically and the oldest completed
+ * entries are evicted when the store is full.
+ */
+@Service
+public class IdempotencyService {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Duration inFlightWait;
+    private final Clock clock;
+
+    @Autowired
+    public IdempotencyService(@Value("${orders.idempotency.ttl-minutes:1440}") long ttlMinutes,
+                              @Value("${orders.idempotency.max-entries:10000}") int maxEntries,
+                              @Value("${orders.idempotency.in-flight-wait-seconds:30}") long inFlightWaitSeconds) {
+        this(Duration.ofMinutes(ttlMinutes), maxEntries, Duration.ofSeconds(inFlightWaitSeconds), Clock.systemUTC());
+    }
+
+    IdempotencyService(Duration ttl, int maxEntries, Duration inFlightWait, Clock clock) {
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.inFlightWait = inFlightWait;
+        this.clock = clock;
+    }
+
+    /**
+     * Run the action at most once per key.
+     * @param key idempotency key, already scoped by the caller (e.g. per user)
+     * @param fingerprint request content; reusing a key with a different request is rejected with 422
+     * @param action the non-idempotent operation
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Result<T> execute(String key, Object fingerprint, Supplier<T> action) {
+        Entry candidate = new Entry(fingerprint);
+        Entry existing;
+        while ((existing = entries.putIfAbsent(key, candidate)) != null && existing.isExpired(clock.instant(), ttl)) {
+            // Drop the expired entry and try again; a concurrent caller may win the race, then we join it
+            entries.remove(key, existing);
+        }
+
+        if (existing != null) {
+            if (!Objects.equals(existing.fingerprint, fingerprint)) {
+                throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key " + key + " was already used with a different request");
+            }
+            return new Result<>((T) await(existing), true);
+        }
+
+        evictIfFull();
+        try {
+            T value = action.get();
+            candidate.completedAt = clock.instant();
+            candidate.result.complete(value);
+            return new Result<>(value, false);
+        } catch (RuntimeException e) {
+            // Failed executions are not remembered, the client may retry with the same key
+            entries.remove(key, candidate);
+            candidate.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Object await(Entry entry) {
+        try {
+            return entry.result.get(inFlightWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A request with the same Idempotency-Key is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for an in-flight request", e);
+        }
+    }
+
+    private void evictIfFull() {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        purgeExpired();
+        int overflow = entries.size() - maxEntries;
+        if (overflow > 0) {
+            entries.entrySet().stream()
+                .filter(e -> e.getValue().completedAt != null)
+                .sorted(Comparator.comparing(e -> e.getValue().completedAt))
+                .limit(overflow)
+                .forEach(e -> entries.remove(e.getKey(), e.getValue()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orders.idempotency.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        Instant now = clock.instant();
+        entries.entrySet().removeIf(e -> e.getValue().isExpired(now, ttl));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private static final class Entry {
+        private final Object fingerprint;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private volatile Instant completedAt;
+
+        private Entry(Object fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        // In-flight entries never expire, otherwise a slow request could run twice
+        private boolean isExpired(Instant now, Duration ttl) {
+            return completedAt != null && completedAt.plus(ttl).isBefore(now);
+        }
+    }
+
+    public record Result<T>(T value, boolean replayed) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.eduka.restaurant.service;
+
+import com.eduka.restaurant.dto.KitchenOrderEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Pushes order deltas to the kitchen board topic of their restaurant,
+ * only once the change is committed so screens never show rolled-back orders.
+ */
+@Component
+@Slf4j
+public class KitchenBoardPublisher {
+    
+    public static final String ORDERS_TOPIC = "/topic/restaurants/%d/orders";
+    
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderEvent(KitchenOrderEvent event) {
+        try {
+            messagingTemplate.convertAndSend(String.format(ORDERS_TOPIC, event.getOrder().getRestaurantId()), event);
+        } catch (MessagingException e) {
+            // A missed push only delays the screen until its next snapshot, never fail the request
+            log.warn("❌ Failed to push {} for order {} to the kitchen board: {}",
+                event.getType(), event.getOrder().getOrderId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.eduka.restaurant.service;
+
+import com.eduka.restaurant.model.MenuItem;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of restaurant menus.
+ * Each entry keeps the items, their JSON and a strong ETag, so a hit costs neither a query
+ * nor a serialization pass. Size-bounded; hit/miss/eviction counts are exported as cache.* metrics
+ * tagged cache=menu.
+ */
+@Component
+@Slf4j
+public class MenuCache {
+
+    private final Cache<Key, Menu> cache;
+    private final ObjectMapper objectMapper;
+
+    public MenuCache(ObjectMapper objectMapper,
+                     MeterRegistry meterRegistry,
+                     @Value("${menu.cache.max-entries:1000}") long maxEntries,
+                     @Value("${menu.cache.ttl-minutes:60}") long ttlMinutes) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "menu");
+    }
+
+    public Menu get(Long restaurantId, boolean availableOnly, Supplier<List<MenuItem>> loader) {
+        return cache.get(new Key(restaurantId, availableOnly), key -> toMenu(loader.get()));
+    }
+
+    /**
+     * Drop both menus of a restaurant now and again after the surrounding transaction commits,
+     * so a read racing the write cannot put the pre-commit rows back.
+     */
+    public void evict(Long restaurantId) {
+        evictNow(restaurantId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(restaurantId);
+                }
+            });
+        }
+    }
+
+    private void evictNow(Long restaurantId) {
+        cache.invalidate(new Key(restaurantId, false));
+        cache.invalidate(new Key(restaurantId, true));
+        log.debug("Menu cache evicted for restaurant {}", restaurantId);
+    }
+
+    private Menu toMenu(List<MenuItem> items) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(items);
+            return new Menu(List.copyOf(items), json, etag(json));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Unable to serialize menu: " + e.getMessage(), e);
+        }
+    }
+
+    private String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Key(Long restaurantId, boolean availableOnly) {
+    }
+
+    /**
+     * A cached menu; items are shared between requests and must not be modified.
+     */
+    public record Menu(List<MenuItem> items, byte[] json, String etag) {
+    }
+}
@@ -20,12 +20,21 @@ public class MenuItemService {
     
     @Autowired
     private RestaurantRepository restaurantRepository;
+    
+    @Autowired
+    private MenuCache menuCache;
+    
+    @Autowired
+    private SearchIndexService searchIndexService;
 
     public MenuItem createMenuItem(MenuItem menuItem, Long restaurantId) {
         Restaurant restaurant = restaurantRepository.findById(restaurantId)
             .orElseThrow(() -> new RuntimeException("Restaurant not found with id: " + restaurantId));
         menuItem.setRestaurant(restaurant);
-        return menuItemRepository.save(menuItem);
+        MenuItem saved = menuItemRepository.save(menuItem);
+        menuCache.evict(restaurantId);
+        searchIndexService.indexMenuItem(saved);
+        return saved;
     }
 
     public MenuItem updateMenuItem(Long id, MenuItem menuItemDetails) {
@@ -40,42 +49,73 @@ public class MenuItemService {
         menuItem.setIsAvailable(menuItemDetails.getIsAvailable());
         menuItem.setPreparationTime(menuItemDetails.getPreparationTime());
         
-        return menuItemRepository.save(menuItem);
+        MenuItem saved = menuItemRepository.save(menuItem);
+        evictMenu(saved);
+        searchIndexService.indexMenuItem(saved);
+        return saved;
     }
 
     public void deleteMenuItem(Long id) {
         MenuItem menuItem = menuItemRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("MenuItem not found with id: " + id));
+        evictMenu(menuItem);
+        searchIndexService.removeMenuItem(id);
         menuItemRepository.delete(menuItem);
     }
+    
+    private void evictMenu(MenuItem menuItem) {
+        if (menuItem.getRestaurant() != null) {
+            menuCache.evict(menuItem.getRestaurant().getId());
+        }
+    }
 
+    @Transactional(readOnly = true)
     public MenuItem getMenuItem(Long id) {
         return menuItemRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("MenuItem not found with id: " + id));
     }
 
+    @Transactional(readOnly = true)
     public List<MenuItem> getAllMenuItems() {
         return menuItemRepository.findAll();
     }
     
     public List<MenuItem> getMenuItemsByRestaurant(Long restaurantId) {
-        return menuItemRepository.findByRestaurantId(restaurantId);
+        return getRestaurantMenu(restaurantId).items();
     }
     
     public List<MenuItem> getAvailableMenuItemsByRestaurant(Long restaurantId) {
-        return menuItemRepository.findByRestaurantIdAndIsAvailableTrue(restaurantId);
+        return getAvailableRestaurantMenu(restaurantId).items();
+    }
+    
+    // Cached menus, with pre-serialized JSON and ETag for MenuItemController.
+    // Not readOnly on purpose: a refill right after an eviction must not read a lagging replica.
+    public MenuCache.Menu getRestaurantMenu(Long restaurantId) {
+        return menuCache.get(restaurantId, false, () -> menuItemRepository.findByRestaurantId(restaurantId));
+    }
+    
+    public MenuCache.Menu getAvailableRestaurantMenu(Long restaurantId) {
+        return menuCache.get(restaurantId, true, () -> menuItemRepository.findByRestaurantIdAndIsAvailableTrue(restaurantId));
     }
     
+    @Transactional(readOnly = true)
     public List<MenuItem> getMenuItemsByCategory(String category) {
         return menuItemRepository.findByCategory(category);
     }
     
+    @Transactional(readOnly = true)
     public List<MenuItem> getAvailableMenuItems() {
         return menuItemRepository.findByIsAvailableTrue();
     }
     
-    public List<MenuItem> searchMenuItems(String name) {
-        return menuItemRepository.findByNameContainingIgnoreCase(name);
+    // Ranked, typo-tolerant search over name, category and description; LIKE on name until the index is built
+    @Transactional(readOnly = true)
+    public List<MenuItem> searchMenuItems(String query, int limit) {
+        List<Long> ids = searchIndexService.searchMenuItems(query, limit);
+        if (ids == null) {
+            return menuItemRepository.findByNameContainingIgnoreCase(query);
+        }
+        return SearchIndexService.inRankOrder(ids, menuItemRepository.findByIdIn(ids), MenuItem::getId);
     }
 }
 
@@ -0,0 +1,58 @@
+package com.eduka.restaurant.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Nightly hot/cold split of the orders table.
+ * Each batch runs in its own transaction (see OrderArchiveService#archiveBatch), so locks stay short
+ * and a failure only rolls back the current batch.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.archive.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OrderArchiveJob {
+
+    @Autowired
+    private OrderArchiveService archiveService;
+
+    @Value("${orders.archive.age-days:180}")
+    private long ageDays;
+
+    @Value("${orders.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${orders.archive.max-batches-per-run:200}")
+    private int maxBatchesPerRun;
+
+    @Scheduled(cron = "${orders.archive.cron:0 30 3 * * *}")
+    public void archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(ageDays);
+        long start = System.currentTimeMillis();
+        int total = 0;
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                int moved = archiveService.archiveBatch(cutoff, batchSize);
+                total += moved;
+                if (moved == 0) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("❌ Order archival run failed after {} orders: {}", total, e.getMessage());
+        }
+        log.info("🗄️ Archived {} orders older than {} days in {} ms", total, ageDays, System.currentTimeMillis() - start);
+        archiveService.refreshMetrics();
+    }
+
+    @Scheduled(fixedDelayString = "${orders.archive.metrics-interval-ms:60000}")
+    public void refreshMetrics() {
+        archiveService.refreshMetrics();
+    }
+}
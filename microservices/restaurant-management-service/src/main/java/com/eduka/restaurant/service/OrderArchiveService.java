@@ -0,0 +1,119 @@
+package com.eduka.restaurant.service;
+
+import com.eduka.restaurant.repository.OrderRepository;
+import com.eduka.restaurant.repository.OrderRepositoryImpl;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves COMPLETED/CANCELLED orders that have not changed since a cutoff from orders/order_lines
+ * into orders_archive/order_lines_archive, one batch per transaction with set-based SQL.
+ * Reads keep seeing them through OrderRepositoryImpl; revenue rollups are not affected.
+ */
+@Service
+@Transactional
+@Slf4j
+public class OrderArchiveService {
+
+    private static final String ORDER_COLUMNS =
+        "id, user_id, restaurant_id, total_amount, status, notes, delivery_address, created_at, updated_at, completed_at, version";
+    private static final String LINE_COLUMNS = "id, order_id, menu_item_id, name, unit_price, quantity";
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AtomicLong hotRows = new AtomicLong();
+    private final AtomicLong archivedRows = new AtomicLong();
+
+    private Counter archivedCounter;
+    private Timer batchTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("restaurant.orders.hot.rows", hotRows, AtomicLong::get)
+            .description("Orders in the hot orders table")
+            .register(meterRegistry);
+        Gauge.builder("restaurant.orders.archive.rows", archivedRows, AtomicLong::get)
+            .description("Orders in orders_archive")
+            .register(meterRegistry);
+        archivedCounter = Counter.builder("restaurant.orders.archived")
+            .description("Orders moved to the archive")
+            .register(meterRegistry);
+        batchTimer = Timer.builder("restaurant.orders.archive.batch")
+            .description("Time to archive one batch of orders")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Archive the next batch of eligible orders.
+     * @return number of orders moved
+     */
+    public int archiveBatch(LocalDateTime cutoff, int batchSize) {
+        List<Long> candidates = orderRepository.findIdsToArchive(
+            OrderRepositoryImpl.ARCHIVED_STATUSES, cutoff, PageRequest.of(0, batchSize));
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+
+        return batchTimer.record(() -> {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", candidates)
+                .addValue("cutoff", Timestamp.valueOf(cutoff))
+                .addValue("archivedAt", Timestamp.valueOf(LocalDateTime.now()));
+
+            // Lock and re-check: an order edited since the candidate query stays hot
+            List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM orders WHERE id IN (:ids) AND status IN ('COMPLETED', 'CANCELLED') " +
+                "AND updated_at < :cutoff FOR UPDATE", params, Long.class);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            params.addValue("ids", ids);
+
+            jdbcTemplate.update("INSERT INTO orders_archive (" + ORDER_COLUMNS + ", archived_at) " +
+                "SELECT " + ORDER_COLUMNS + ", :archivedAt FROM orders WHERE id IN (:ids)", params);
+            jdbcTemplate.update("INSERT INTO order_lines_archive (" + LINE_COLUMNS + ") " +
+                "SELECT " + LINE_COLUMNS + " FROM order_lines WHERE order_id IN (:ids)", params);
+            jdbcTemplate.update("DELETE FROM order_lines WHERE order_id IN (:ids)", params);
+            int moved = jdbcTemplate.update("DELETE FROM orders WHERE id IN (:ids)", params);
+
+            archivedCounter.increment(moved);
+            return moved;
+        });
+    }
+
+    /**
+     * Refresh the table size gauges; called by OrderArchiveJob so scrapes never hit the DB.
+     */
+    @Transactional(readOnly = true)
+    public void refreshMetrics() {
+        hotRows.set(count("orders"));
+        archivedRows.set(count("orders_archive"));
+    }
+
+    private long count(String table) {
+        Long rows = jdbcTemplate.getJdbcTemplate().queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        return rows != null ? rows : 0L;
+    }
+}
@@ -0,0 +1,60 @@
+package com.eduka.restaurant.service;
+
+import com.ski.eduka.config.IdSequenceAligner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * One-shot migration of the legacy order_menu_items join table into order_lines.
+ * Duplicate join rows become a single line with a quantity; name and price are
+ * snapshotted from the current menu item. Migrated join rows are deleted so the
+ * old foreign key no longer blocks order deletion. Safe to run on every startup.
+ * The same statements are available in db/migration/order_lines.sql for databases
+ * managed with ddl-auto=validate.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.legacy-items-migration.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OrderLineMigration implements ApplicationRunner {
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private IdSequenceAligner idSequenceAligner;
+    
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        Integer legacyTables = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE UPPER(TABLE_NAME) = 'ORDER_MENU_ITEMS'", Integer.class);
+        if (legacyTables == null || legacyTables == 0) {
+            return;
+        }
+        
+        // order_lines.id has no default since ids come from order_lines_seq; the sequence is already past
+        // the existing rows (IdSequenceAligner runs at startup), and a value taken here is never handed
+        // out again by Hibernate's pooled optimizer
+        int lines = jdbcTemplate.update(
+            "INSERT INTO order_lines (id, order_id, menu_item_id, name, unit_price, quantity) " +
+            "SELECT NEXT VALUE FOR order_lines_seq, g.order_id, g.menu_item_id, g.name, g.price, g.quantity FROM (" +
+            "SELECT omi.order_id, omi.menu_item_id, m.name, m.price, COUNT(*) AS quantity " +
+            "FROM order_menu_items omi JOIN menu_items m ON m.id = omi.menu_item_id " +
+            "WHERE NOT EXISTS (SELECT 1 FROM order_lines ol WHERE ol.order_id = omi.order_id) " +
+            "GROUP BY omi.order_id, omi.menu_item_id, m.name, m.price) g");
+        int joinRows = jdbcTemplate.update(
+            "DELETE FROM order_menu_items WHERE order_id IN (SELECT DISTINCT order_id FROM order_lines)");
+        
+        if (lines > 0 || joinRows > 0) {
+            // Re-check every sequence once the backfill is in
+            idSequenceAligner.align();
+            log.info("📦 Migrated {} order_menu_items rows into {} order_lines", joinRows, lines);
+        }
+    }
+}
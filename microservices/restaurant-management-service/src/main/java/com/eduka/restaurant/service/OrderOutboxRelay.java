@@ -0,0 +1,53 @@
+package com.eduka.restaurant.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Background job draining the order notification outbox into RabbitMQ.
+ * Each batch runs in its own transaction (see OrderOutboxService#relayBatch).
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OrderOutboxRelay {
+
+    @Autowired
+    private OrderOutboxService outboxService;
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.relay.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+
+    @Value("${outbox.relay.retention-hours:72}")
+    private long retentionHours;
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:1000}")
+    public void drain() {
+        try {
+            // Keep going while batches come back full, bounded so one run cannot starve other jobs
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                if (outboxService.relayBatch(batchSize) < batchSize) {
+                    break;
+                }
+            }
+            outboxService.refreshMetrics();
+        } catch (Exception e) {
+            log.error("❌ Outbox relay run failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${outbox.relay.purge-cron:0 0 3 * * *}")
+    public void purgeSentEvents() {
+        int purged = outboxService.purgeSentEvents(LocalDateTime.now().minusHours(retentionHours));
+        log.info("🧹 Purged {} published outbox events older than {}h", purged, retentionHours);
+    }
+}
@@ -0,0 +1,213 @@
+package com.eduka.restaurant.service;
+
+import com.eduka.restaurant.client.NotificationMessageDTO;
+import com.eduka.restaurant.model.Order;
+import com.eduka.restaurant.model.OrderOutboxEvent;
+import com.eduka.restaurant.model.OutboxStatus;
+import com.eduka.restaurant.repository.OrderOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ski.eduka.config.RabbitMQConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transactional outbox for order notifications.
+ * Events are written with the Order and published to RabbitMQ later by OrderOutboxRelay,
+ * so the order request never waits on notification-service.
+ */
+@Service
+@Transactional
+@Slf4j
+public class OrderOutboxService {
+
+    @Autowired
+    private OrderOutboxRepository outboxRepository;
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.relay.confirm-timeout-ms:5000}")
+    private long confirmTimeoutMs;
+
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicLong failedEvents = new AtomicLong();
+    private final AtomicLong oldestPendingAgeSeconds = new AtomicLong();
+
+    private Counter publishedCounter;
+    private Counter publishFailureCounter;
+    private Timer deliveryLagTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("restaurant.outbox.pending", pendingEvents, AtomicLong::get)
+            .description("Order notifications waiting to be published")
+            .register(meterRegistry);
+        Gauge.builder("restaurant.outbox.failed", failedEvents, AtomicLong::get)
+            .description("Order notifications that exhausted their publish attempts")
+            .register(meterRegistry);
+        Gauge.builder("restaurant.outbox.lag.seconds", oldestPendingAgeSeconds, AtomicLong::get)
+            .description("Age of the oldest pending order notification")
+            .register(meterRegistry);
+        publishedCounter = Counter.builder("restaurant.outbox.published")
+            .description("Order notifications confirmed by the broker")
+            .register(meterRegistry);
+        publishFailureCounter = Counter.builder("restaurant.outbox.publish.failures")
+            .description("Failed publish attempts")
+            .register(meterRegistry);
+        deliveryLagTimer = Timer.builder("restaurant.outbox.delivery.lag")
+            .description("Time between order commit and broker confirmation")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Record an order confirmation notification.
+     * Must run inside the transaction that saves the order so both commit or roll back together.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OrderOutboxEvent enqueueOrderCreated(Order order) {
+        NotificationMessageDTO notification = new NotificationMessageDTO();
+        notification.setUserId(order.getUserId());
+        notification.setType("ORDER");
+        notification.setSubject("Order Confirmation");
+        notification.setMessage("Your order has been placed successfully!");
+        notification.setTimestamp(LocalDateTime.now());
+
+        NotificationMessageDTO.NotificationDetails details = new NotificationMessageDTO.NotificationDetails();
+        details.setOrderId(order.getId().toString());
+        details.setRestaurantName(order.getRestaurant().getName());
+        details.setTotalAmount(order.getTotalAmount());
+        notification.setDetails(details);
+
+        OrderOutboxEvent event = new OrderOutboxEvent();
+        event.setOrderId(order.getId());
+        event.setRoutingKey(RabbitMQConfig.ORDER_ROUTING_KEY);
+        event.setPayload(toJson(notification));
+        return outboxRepository.save(event);
+    }
+
+    /**
+     * Publish the next batch of pending events with publisher confirms.
+     * Rows are only marked SENT once the broker confirmed the whole batch, so a crash
+     * in between re-publishes them (at-least-once; the message id lets consumers de-duplicate).
+     * @return number of events published
+     */
+    public int relayBatch(int batchSize) {
+        List<OrderOutboxEvent> batch = outboxRepository.findByStatusOrderByIdAsc(
+            OutboxStatus.PENDING, PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (OrderOutboxEvent event : batch) {
+                    operations.send(RabbitMQConfig.NOTIFICATION_EXCHANGE, event.getRoutingKey(), toMessage(event));
+                }
+                operations.waitForConfirmsOrDie(confirmTimeoutMs);
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("❌ Failed to publish {} outbox events: {}", batch.size(), e.getMessage());
+            publishFailureCounter.increment(batch.size());
+            batch.forEach(event -> event.markAttemptFailed(e.getMessage(), maxAttempts));
+            return 0;
+        }
+
+        for (OrderOutboxEvent event : batch) {
+            event.markSent();
+            deliveryLagTimer.record(Duration.between(event.getCreatedAt(), event.getSentAt()));
+        }
+        publishedCounter.increment(batch.size());
+        log.debug("✅ Published {} order notifications from the outbox", batch.size());
+        return batch.size();
+    }
+
+    /**
+     * Refresh the backlog gauges; called by the relay after each run so scrapes never hit the DB.
+     */
+    @Transactional(readOnly = true)
+    public void refreshMetrics() {
+        pendingEvents.set(outboxRepository.countByStatus(OutboxStatus.PENDING));
+        failedEvents.set(outboxRepository.countByStatus(OutboxStatus.FAILED));
+        LocalDateTime oldest = outboxRepository.findOldestCreatedAtByStatus(OutboxStatus.PENDING);
+        oldestPendingAgeSeconds.set(oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).getSeconds());
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrderOutboxEvent> getFailedEvents() {
+        return outboxRepository.findByStatus(OutboxStatus.FAILED);
+    }
+
+    /**
+     * Put every FAILED event back in the queue.
+     * @return number of events scheduled for replay
+     */
+    public int replayFailedEvents() {
+        int replayed = outboxRepository.resetAllFailed();
+        log.info("🔁 {} failed outbox events scheduled for replay", replayed);
+        return replayed;
+    }
+
+    public OrderOutboxEvent replayEvent(Long id) {
+        OrderOutboxEvent event = outboxRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Outbox event not found with id: " + id));
+        if (event.getStatus() != OutboxStatus.FAILED) {
+            throw new RuntimeException("Only FAILED outbox events can be replayed, event " + id + " is " + event.getStatus());
+        }
+        event.resetForReplay();
+        return outboxRepository.save(event);
+    }
+
+    public int purgeSentEvents(LocalDateTime before) {
+        return outboxRepository.deleteSentBefore(before);
+    }
+
+    private Message toMessage(OrderOutboxEvent event) {
+        return MessageBuilder.withBody(event.getPayload().getBytes(StandardCharsets.UTF_8))
+            .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+            .setContentEncoding(StandardCharsets.UTF_8.name())
+            .setMessageId("order-outbox-" + event.getId())
+            .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+            .build();
+    }
+
+    private String toJson(NotificationMessageDTO notification) {
+        try {
+            return objectMapper.writeValueAsString(notification);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Unable to serialize order notification: " + e.getMessage(), e);
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.eduka.restaurant.service;
 
-import com.eduka.restaurant.client.NotificationMessageDTO;
-import com.eduka.restaurant.client.NotificationServiceClient;
 import com.eduka.restaurant.client.UserClient;
+import com.eduka.restaurant.dto.BulkStatusUpdateRequest;
+import com.eduka.restaurant.dto.BulkStatusUpdateResult;
+import com.eduka.restaurant.dto.CursorPage;
+import com.eduka.restaurant.dto.KitchenOrderEvent;
+import com.eduka.restaurant.dto.KitchenOrderView;
+import com.eduka.restaurant.dto.OrderCursor;
 import com.eduka.restaurant.dto.UserDTO;
 import com.eduka.restaurant.model.MenuItem;
 import com.eduka.restaurant.model.Order;
@@ -11,20 +15,55 @@ import com.eduka.restaurant.model.Restaurant;
 import com.eduka.restaurant.repository.MenuItemRepository;
 import com.eduka.restaurant.repository.OrderRepository;
 import com.eduka.restaurant.repository.RestaurantRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 import feign.FeignException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 @Slf4j
 public class OrderService {
     
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int BULK_CHUNK_SIZE = 500;
+    
+    // Orders still on the kitchen board
+    private static final EnumSet<OrderStatus> KITCHEN_STATUSES = EnumSet.of(
+        OrderStatus.PENDING, OrderStatus.CONFIRMED, OrderStatus.PREPARING, OrderStatus.READY);
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     @Autowired
     private OrderRepository orderRepository;
     
@@ -38,7 +77,25 @@ public class OrderService {
     private UserClient userClient;
     
     @Autowired
-    private NotificationServiceClient notificationServiceClient;
+    private OrderOutboxService orderOutboxService;
+    
+    @Autowired
+    private RevenueRollupService revenueRollupService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${orders.optimistic-retry.max-attempts:5}")
+    private int optimisticMaxAttempts;
+    
+    @Value("${orders.optimistic-retry.backoff-ms:10}")
+    private long optimisticBackoffMs;
     
     /**
      * Validate that a user exists before creating an order
@@ -73,57 +130,64 @@ public class OrderService {
         
         order.setRestaurant(restaurant);
         
-        // Add menu items to order
-        for (Long itemId : menuItemIds) {
-            MenuItem menuItem = menuItemRepository.findById(itemId)
-                .orElseThrow(() -> new RuntimeException("MenuItem not found with id: " + itemId));
-            order.addItem(menuItem);
-        }
-        
-        order.calculateTotal();
+        // Add menu items to order (resolved in one query, total computed once)
+        order.addItems(resolveMenuItems(restaurantId, menuItemIds));
         order.setStatus(OrderStatus.PENDING);
         
         Order savedOrder = orderRepository.save(order);
         
-        // 🔥 FEIGN CLIENT COMMUNICATION #1: Restaurant → Notification Service
-        // Send order confirmation notification via RabbitMQ
-        sendOrderNotification(savedOrder);
+        // Order confirmation goes through the outbox: written in this transaction,
+        // published to RabbitMQ by OrderOutboxRelay after commit
+        orderOutboxService.enqueueOrderCreated(savedOrder);
+        publishBoardEvent(KitchenOrderEvent.Type.CREATED, null, savedOrder, true);
         
         return savedOrder;
     }
     
     /**
-     * Send order notification using Feign Client to Notification Service
-     * This demonstrates inter-service communication pattern
+     * Load all requested menu items with a single batched query and validate them in memory.
+     * Duplicate ids are preserved so that ordering the same item twice counts it twice.
+     * @param restaurantId restaurant the order is placed with
+     * @param menuItemIds requested menu item ids, in order
+     * @throws RuntimeException if an item is missing, belongs to another restaurant or is unavailable
      */
-    private void sendOrderNotification(Order order) {
-        try {
-            NotificationMessageDTO notification = new NotificationMessageDTO();
-            notification.setUserId(order.getUserId());
-            notification.setType("ORDER");
-            notification.setSubject("Order Confirmation");
-            notification.setMessage("Your order has been placed successfully!");
-            notification.setTimestamp(LocalDateTime.now());
-            
-            NotificationMessageDTO.NotificationDetails details = new NotificationMessageDTO.NotificationDetails();
-            details.setOrderId(order.getId().toString());
-            details.setRestaurantName(order.getRestaurant().getName());
-            details.setTotalAmount(order.getTotalAmount());
-            notification.setDetails(details);
-            
-            // Call Notification Service via Feign Client
-            notificationServiceClient.sendNotification(notification);
-            log.info("✅ Order notification sent via Feign Client for order: {}", order.getId());
-            
-        } catch (Exception e) {
-            log.error("❌ Failed to send order notification: {}", e.getMessage());
-            // Don't fail the order creation if notification fails
+    private List<MenuItem> resolveMenuItems(Long restaurantId, List<Long> menuItemIds) {
+        if (menuItemIds == null || menuItemIds.isEmpty()) {
+            return new ArrayList<>();
         }
+        
+        Map<Long, MenuItem> menuItemsById = menuItemRepository.findByIdIn(new HashSet<>(menuItemIds)).stream()
+            .collect(Collectors.toMap(MenuItem::getId, Function.identity()));
+        
+        List<MenuItem> resolved = new ArrayList<>(menuItemIds.size());
+        for (Long itemId : menuItemIds) {
+            MenuItem menuItem = menuItemsById.get(itemId);
+            if (menuItem == null) {
+                throw new RuntimeException("MenuItem not found with id: " + itemId);
+            }
+            // getId() on the lazy restaurant proxy does not trigger a SELECT
+            if (menuItem.getRestaurant() == null || !restaurantId.equals(menuItem.getRestaurant().getId())) {
+                throw new RuntimeException("MenuItem " + itemId + " does not belong to restaurant with id: " + restaurantId);
+            }
+            if (Boolean.FALSE.equals(menuItem.getIsAvailable())) {
+                throw new RuntimeException("MenuItem is not available: " + menuItem.getName());
+            }
+            resolved.add(menuItem);
+        }
+        return resolved;
     }
     
+    // Retried on a version conflict like item changes; exhausted retries surface as 409
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Order updateOrder(Long id, Order orderDetails) {
+        return withOptimisticRetry("update", id, () -> applyUpdate(id, orderDetails));
+    }
+    
+    private Order applyUpdate(Long id, Order orderDetails) {
         Order order = orderRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Order not found with id: " + id));
+        RevenueRollupService.Contribution revenueBefore = revenueRollupService.snapshot(order);
+        OrderStatus previousStatus = order.getStatus();
         
         order.setStatus(orderDetails.getStatus());
         order.setNotes(orderDetails.getNotes());
@@ -133,85 +197,348 @@ public class OrderService {
             order.completeOrder();
         }
         
-        return orderRepository.save(order);
+        Order saved = orderRepository.save(order);
+        revenueRollupService.applyChange(revenueBefore, saved);
+        publishBoardEvent(previousStatus != saved.getStatus() ? KitchenOrderEvent.Type.STATUS_CHANGED : KitchenOrderEvent.Type.UPDATED,
+            previousStatus, saved, false);
+        return saved;
     }
     
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Order updateOrderStatus(Long id, OrderStatus status) {
+        return withOptimisticRetry("update-status", id, () -> applyStatusChange(id, status));
+    }
+    
+    private Order applyStatusChange(Long id, OrderStatus status) {
         Order order = orderRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Order not found with id: " + id));
+        RevenueRollupService.Contribution revenueBefore = revenueRollupService.snapshot(order);
+        OrderStatus previousStatus = order.getStatus();
         
+        applyStatus(order, status);
+        
+        Order saved = orderRepository.save(order);
+        revenueRollupService.applyChange(revenueBefore, saved);
+        publishBoardEvent(KitchenOrderEvent.Type.STATUS_CHANGED, previousStatus, saved, false);
+        return saved;
+    }
+    
+    private void applyStatus(Order order, OrderStatus status) {
         order.setStatus(status);
         if (status == OrderStatus.COMPLETED) {
             order.completeOrder();
         } else if (status == OrderStatus.CANCELLED) {
             order.cancelOrder();
         }
+    }
+    
+    /**
+     * Move many orders to one status in a single transaction.
+     * Orders are loaded BULK_CHUNK_SIZE at a time with one IN query and their UPDATEs are sent as
+     * JDBC batches on flush (hibernate.jdbc.batch_size); revenue deltas are summed per daily bucket
+     * and board events are still published per order. On the filter path the current status is
+     * checked again on the loaded rows, since an order may have moved since its id was selected.
+     * A version conflict with a concurrent edit rolls the whole batch back and is reported as 409.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkStatusUpdateResult bulkUpdateStatus(BulkStatusUpdateRequest request) {
+        try {
+            return transactionTemplate.execute(status -> applyBulkStatus(request));
+        } catch (OptimisticLockingFailureException e) {
+            meterRegistry.counter("restaurant.orders.optimistic.conflicts", "operation", "bulk-status").increment();
+            log.warn("⚠️ Bulk status update to {} hit a version conflict, nothing was updated", request.getStatus());
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                "Some orders were modified concurrently, nothing was updated; please retry");
+        }
+    }
+    
+    private BulkStatusUpdateResult applyBulkStatus(BulkStatusUpdateRequest request) {
+        OrderStatus target = request.getStatus();
+        if (target == null) {
+            throw new RuntimeException("Target status is required");
+        }
+        List<Long> ids = resolveBulkTargets(request);
+        // null when explicit ids were given
+        OrderStatus expectedStatus = hasOrderIds(request) ? null : request.getCurrentStatus();
+        
+        List<RevenueRollupService.Contribution> revenueBefore = new ArrayList<>();
+        List<RevenueRollupService.Contribution> revenueAfter = new ArrayList<>();
+        int matched = 0;
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + BULK_CHUNK_SIZE));
+            for (Order order : orderRepository.findAllById(chunk)) {
+                if (expectedStatus != null && order.getStatus() != expectedStatus) {
+                    continue;
+                }
+                matched++;
+                if (order.getStatus() == target) {
+                    continue;
+                }
+                OrderStatus previousStatus = order.getStatus();
+                revenueBefore.add(revenueRollupService.snapshot(order));
+                applyStatus(order, target);
+                revenueAfter.add(revenueRollupService.snapshot(order));
+                publishBoardEvent(KitchenOrderEvent.Type.STATUS_CHANGED, previousStatus, order, false);
+                updated++;
+            }
+            // Send this chunk's UPDATEs and keep the persistence context small
+            entityManager.flush();
+            entityManager.clear();
+        }
+        revenueRollupService.applyChanges(revenueBefore, revenueAfter);
         
-        return orderRepository.save(order);
+        log.info("📦 Bulk status update to {}: {} matched, {} updated", target, matched, updated);
+        return new BulkStatusUpdateResult(target, matched, updated);
+    }
+    
+    private boolean hasOrderIds(BulkStatusUpdateRequest request) {
+        return request.getOrderIds() != null && !request.getOrderIds().isEmpty();
+    }
+    
+    private List<Long> resolveBulkTargets(BulkStatusUpdateRequest request) {
+        if (hasOrderIds(request)) {
+            return new ArrayList<>(new LinkedHashSet<>(request.getOrderIds()));
+        }
+        if (request.getRestaurantId() == null || request.getCurrentStatus() == null) {
+            throw new RuntimeException("Provide either orderIds or restaurantId and currentStatus");
+        }
+        LocalDateTime createdBefore = request.getCreatedBefore() != null ? request.getCreatedBefore() : LocalDateTime.now();
+        return orderRepository.findIdsByRestaurantIdAndStatusCreatedBefore(
+            request.getRestaurantId(), request.getCurrentStatus(), createdBefore);
     }
     
     public void deleteOrder(Long id) {
         Order order = orderRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Order not found with id: " + id));
+        revenueRollupService.removeContribution(order);
+        publishBoardEvent(KitchenOrderEvent.Type.DELETED, order.getStatus(), order, false);
         orderRepository.delete(order);
     }
     
+    @Transactional(readOnly = true)
     public Order getOrder(Long id) {
         return orderRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Order not found with id: " + id));
     }
     
+    // Read-only lookup that also finds archived orders; use getOrder for anything that modifies the order
+    @Transactional(readOnly = true)
+    public Order findOrder(Long id) {
+        return orderRepository.findById(id)
+            .or(() -> Optional.ofNullable(orderRepository.findByIdWithItems(id)))
+            .orElseThrow(() -> new RuntimeException("Order not found with id: " + id));
+    }
+    
+    @Transactional(readOnly = true)
     public Order getOrderWithItems(Long id) {
         return orderRepository.findByIdWithItems(id);
     }
     
+    @Transactional(readOnly = true)
     public List<Order> getAllOrders() {
         return orderRepository.findAll();
     }
     
+    @Transactional(readOnly = true)
     public List<Order> getOrdersByUserId(String userId) {
         return orderRepository.findByUserId(userId);
     }
     
+    @Transactional(readOnly = true)
     public List<Order> getOrdersByRestaurantId(Long restaurantId) {
         return orderRepository.findByRestaurantId(restaurantId);
     }
     
+    @Transactional(readOnly = true)
     public List<Order> getOrdersByStatus(OrderStatus status) {
         return orderRepository.findByStatus(status);
     }
     
+    @Transactional(readOnly = true)
     public List<Order> getOrdersByUserIdAndStatus(String userId, OrderStatus status) {
         return orderRepository.findByUserIdAndStatus(userId, status);
     }
     
+    @Transactional(readOnly = true)
     public List<Order> getOrdersByRestaurantIdAndStatus(Long restaurantId, OrderStatus status) {
         return orderRepository.findByRestaurantIdAndStatus(restaurantId, status);
     }
     
+    @Transactional(readOnly = true)
     public List<Order> getOrdersByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         return orderRepository.findByDateRange(startDate, endDate);
     }
     
+    // ============================================
+    // Keyset pagination (createdAt DESC, id DESC)
+    // ============================================
+    
+    @Transactional(readOnly = true)
+    public CursorPage<Order> getOrdersPage(String cursor, Integer limit) {
+        OrderCursor position = OrderCursor.decode(cursor);
+        int pageSize = pageSize(limit);
+        return toPage(orderRepository.findPageBefore(
+            position.getCreatedAt(), position.getId(), PageRequest.of(0, pageSize + 1)), pageSize);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<Order> getOrdersPageByRestaurantId(Long restaurantId, String cursor, Integer limit) {
+        OrderCursor position = OrderCursor.decode(cursor);
+        int pageSize = pageSize(limit);
+        return toPage(orderRepository.findPageByRestaurantBefore(
+            restaurantId, position.getCreatedAt(), position.getId(), PageRequest.of(0, pageSize + 1)), pageSize);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<Order> getOrdersPageByDateRange(LocalDateTime startDate, LocalDateTime endDate, String cursor, Integer limit) {
+        OrderCursor position = OrderCursor.decode(cursor);
+        int pageSize = pageSize(limit);
+        return toPage(orderRepository.findPageByDateRangeBefore(
+            startDate, endDate, position.getCreatedAt(), position.getId(), PageRequest.of(0, pageSize + 1)), pageSize);
+    }
+    
+    private int pageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+    
+    /**
+     * The queries fetch one extra row: its presence tells whether another page exists without a COUNT.
+     */
+    private CursorPage<Order> toPage(List<Order> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<Order> items = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            Order last = items.get(items.size() - 1);
+            nextCursor = new OrderCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+    
+    // ============================================
+    // Streaming (NDJSON export)
+    // ============================================
+    
+    @Transactional(readOnly = true)
+    public void streamAllOrders(Consumer<Order> consumer) {
+        forEachDetached(orderRepository.streamAll(), consumer);
+    }
+    
+    @Transactional(readOnly = true)
+    public void streamOrdersByRestaurantId(Long restaurantId, Consumer<Order> consumer) {
+        forEachDetached(orderRepository.streamByRestaurantId(restaurantId), consumer);
+    }
+    
+    @Transactional(readOnly = true)
+    public void streamOrdersByDateRange(LocalDateTime startDate, LocalDateTime endDate, Consumer<Order> consumer) {
+        forEachDetached(orderRepository.streamByDateRange(startDate, endDate), consumer);
+    }
+    
+    /**
+     * Hand each row to the consumer, then evict it from the persistence context
+     * so memory stays flat however many rows the cursor returns.
+     */
+    private void forEachDetached(Stream<Order> orders, Consumer<Order> consumer) {
+        try (orders) {
+            orders.forEach(order -> {
+                consumer.accept(order);
+                entityManager.detach(order);
+            });
+        }
+    }
+    
+    // ============================================
+    // Kitchen board (WebSocket)
+    // ============================================
+    
+    /**
+     * Active orders of a restaurant, sent once to a kitchen screen when it subscribes.
+     */
+    @Transactional(readOnly = true)
+    public List<KitchenOrderView> getKitchenBoard(Long restaurantId) {
+        return orderRepository.findByRestaurantIdAndStatusInOrderByCreatedAtAsc(restaurantId, KITCHEN_STATUSES).stream()
+            .map(order -> KitchenOrderView.of(order, true))
+            .collect(Collectors.toList());
+    }
+    
+    /**
+     * Queue a board delta; KitchenBoardPublisher sends it after commit.
+     * The view is built now, while the order is still attached to the session.
+     */
+    private void publishBoardEvent(KitchenOrderEvent.Type type, OrderStatus previousStatus, Order order, boolean withItems) {
+        eventPublisher.publishEvent(new KitchenOrderEvent(type, previousStatus, KitchenOrderView.of(order, withItems)));
+    }
+    
+    // Served from the daily rollups; OrderRepository.calculateTotalRevenue remains for verification
+    @Transactional(readOnly = true)
     public Double calculateRestaurantRevenue(Long restaurantId) {
-        return orderRepository.calculateTotalRevenue(restaurantId);
+        return revenueRollupService.getTotalRevenue(restaurantId);
     }
     
+    /**
+     * Item changes run in their own transaction and are retried on a version conflict:
+     * every attempt re-reads the order, so a concurrent edit is never overwritten or applied twice.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Order addItemToOrder(Long orderId, Long menuItemId) {
-        Order order = getOrder(orderId);
-        MenuItem menuItem = menuItemRepository.findById(menuItemId)
-            .orElseThrow(() -> new RuntimeException("MenuItem not found with id: " + menuItemId));
-        
-        order.addItem(menuItem);
-        return orderRepository.save(order);
+        return withOptimisticRetry("add-item", orderId, () -> {
+            MenuItem menuItem = menuItemRepository.findById(menuItemId)
+                .orElseThrow(() -> new RuntimeException("MenuItem not found with id: " + menuItemId));
+            return changeItems(orderId, order -> order.addItem(menuItem));
+        });
     }
     
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Order removeItemFromOrder(Long orderId, Long menuItemId) {
+        return withOptimisticRetry("remove-item", orderId, () -> {
+            MenuItem menuItem = menuItemRepository.findById(menuItemId)
+                .orElseThrow(() -> new RuntimeException("MenuItem not found with id: " + menuItemId));
+            return changeItems(orderId, order -> order.removeItem(menuItem));
+        });
+    }
+    
+    private Order changeItems(Long orderId, Consumer<Order> change) {
         Order order = getOrder(orderId);
-        MenuItem menuItem = menuItemRepository.findById(menuItemId)
-            .orElseThrow(() -> new RuntimeException("MenuItem not found with id: " + menuItemId));
+        // Bump the version even when only an order line changes, so two edits of the same order always conflict
+        entityManager.lock(order, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+        RevenueRollupService.Contribution revenueBefore = revenueRollupService.snapshot(order);
         
-        order.removeItem(menuItem);
-        return orderRepository.save(order);
+        change.accept(order);
+        Order saved = orderRepository.saveAndFlush(order);
+        revenueRollupService.applyChange(revenueBefore, saved);
+        publishBoardEvent(KitchenOrderEvent.Type.ITEMS_CHANGED, null, saved, true);
+        return saved;
+    }
+    
+    private Order withOptimisticRetry(String operation, Long orderId, Supplier<Order> attempt) {
+        for (int attemptNo = 1; ; attemptNo++) {
+            try {
+                return transactionTemplate.execute(status -> attempt.get());
+            } catch (OptimisticLockingFailureException e) {
+                meterRegistry.counter("restaurant.orders.optimistic.conflicts", "operation", operation).increment();
+                if (attemptNo >= optimisticMaxAttempts) {
+                    meterRegistry.counter("restaurant.orders.optimistic.exhausted", "operation", operation).increment();
+                    log.warn("⚠️ Order {} {} gave up after {} version conflicts", orderId, operation, attemptNo);
+                    throw new ResponseStatusException(HttpStatus.CONFLICT,
+                        "Order " + orderId + " is being modified concurrently, please retry");
+                }
+                backOff(attemptNo);
+            }
+        }
+    }
+    
+    // Exponential backoff with full jitter so colliding writers spread out
+    private void backOff(int attemptNo) {
+        long ceiling = optimisticBackoffMs << Math.min(attemptNo - 1, 6);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while retrying order update", e);
+        }
     }
 }
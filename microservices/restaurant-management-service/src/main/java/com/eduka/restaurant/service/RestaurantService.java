@@ -1,5 +1,6 @@
 package com.eduka.restaurant.service;
 
+import com.eduka.restaurant.model.MenuItem;
 import com.eduka.restaurant.model.Restaurant;
 import com.eduka.restaurant.repository.RestaurantRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,8 +16,16 @@ public class RestaurantService {
     @Autowired
     private RestaurantRepository restaurantRepository;
     
+    @Autowired
+    private MenuCache menuCache;
+    
+    @Autowired
+    private SearchIndexService searchIndexService;
+    
     public Restaurant createRestaurant(Restaurant restaurant) {
-        return restaurantRepository.save(restaurant);
+        Restaurant saved = restaurantRepository.save(restaurant);
+        searchIndexService.indexRestaurant(saved);
+        return saved;
     }
     
     public Restaurant updateRestaurant(Long id, Restaurant restaurantDetails) {
@@ -33,38 +42,55 @@ public class RestaurantService {
         restaurant.setImageUrl(restaurantDetails.getImageUrl());
         restaurant.setIsActive(restaurantDetails.getIsActive());
         
-        return restaurantRepository.save(restaurant);
+        Restaurant saved = restaurantRepository.save(restaurant);
+        searchIndexService.indexRestaurant(saved);
+        return saved;
     }
     
     public void deleteRestaurant(Long id) {
         Restaurant restaurant = restaurantRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Restaurant not found with id: " + id));
+        List<Long> menuItemIds = restaurant.getMenuItems().stream().map(MenuItem::getId).toList();
         restaurantRepository.delete(restaurant);
+        // Menu items go with the restaurant (cascade)
+        menuCache.evict(id);
+        searchIndexService.removeRestaurant(id, menuItemIds);
     }
     
+    @Transactional(readOnly = true)
     public Restaurant getRestaurant(Long id) {
         return restaurantRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Restaurant not found with id: " + id));
     }
     
+    @Transactional(readOnly = true)
     public Restaurant getRestaurantWithMenuItems(Long id) {
         return restaurantRepository.findByIdWithMenuItems(id);
     }
     
+    @Transactional(readOnly = true)
     public List<Restaurant> getAllRestaurants() {
         return restaurantRepository.findAll();
     }
     
+    @Transactional(readOnly = true)
     public List<Restaurant> getActiveRestaurants() {
         return restaurantRepository.findByIsActiveTrue();
     }
     
+    @Transactional(readOnly = true)
     public List<Restaurant> getRestaurantsByType(String type) {
         return restaurantRepository.findByType(type);
     }
     
-    public List<Restaurant> searchRestaurantsByName(String name) {
-        return restaurantRepository.findByNameContainingIgnoreCase(name);
+    // Ranked, typo-tolerant search over name and type; LIKE on name until the index is built
+    @Transactional(readOnly = true)
+    public List<Restaurant> searchRestaurantsByName(String query, int limit) {
+        List<Long> ids = searchIndexService.searchRestaurants(query, limit);
+        if (ids == null) {
+            return restaurantRepository.findByNameContainingIgnoreCase(query);
+        }
+        return SearchIndexService.inRankOrder(ids, restaurantRepository.findAllById(ids), Restaurant::getId);
     }
     
     public Restaurant assignUserToRestaurant(Long restaurantId, Long userId) {
@@ -79,6 +105,7 @@ public class RestaurantService {
         return restaurantRepository.save(restaurant);
     }
     
+    @Transactional(readOnly = true)
     public List<Restaurant> getRestaurantsByUserId(Long userId) {
         return restaurantRepository.findByAssignedUserId(userId);
     }
@@ -0,0 +1,25 @@
+package com.eduka.restaurant.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Seeds the revenue rollups from existing orders the first time the service starts with them.
+ */
+@Component
+@ConditionalOnProperty(name = "revenue.rollup.rebuild-if-empty", havingValue = "true", matchIfMissing = true)
+public class RevenueRollupBootstrap implements ApplicationRunner {
+    
+    @Autowired
+    private RevenueRollupService revenueRollupService;
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        if (revenueRollupService.isEmpty()) {
+            revenueRollupService.rebuildAll();
+        }
+    }
+}
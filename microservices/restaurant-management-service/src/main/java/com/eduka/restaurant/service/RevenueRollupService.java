@@ -0,0 +1,215 @@
+package com.eduka.restaurant.service;
+
+import com.eduka.restaurant.dto.RevenueBucket;
+import com.eduka.restaurant.dto.RevenueGranularity;
+import com.eduka.restaurant.model.Order;
+import com.eduka.restaurant.model.OrderStatus;
+import com.eduka.restaurant.model.RevenueRollup;
+import com.eduka.restaurant.repository.RevenueRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Per-restaurant, per-day revenue rollups of COMPLETED orders.
+ * OrderService snapshots an order's contribution before changing it and hands both
+ * states to {@link #applyChange}, which moves the difference into the daily buckets.
+ */
+@Service
+@Transactional
+@Slf4j
+public class RevenueRollupService {
+
+    // Completed orders from both the hot table and the archive (see OrderArchiveService)
+    private static final String REBUILD_SELECT =
+        "SELECT restaurant_id, CAST(COALESCE(completed_at, created_at) AS DATE), SUM(total_amount), COUNT(*) FROM (" +
+        "SELECT restaurant_id, completed_at, created_at, total_amount FROM orders WHERE status = 'COMPLETED' UNION ALL " +
+        "SELECT restaurant_id, completed_at, created_at, total_amount FROM orders_archive WHERE status = 'COMPLETED'" +
+        ") completed WHERE 1 = 1";
+    private static final String REBUILD_GROUP_BY =
+        " GROUP BY restaurant_id, CAST(COALESCE(completed_at, created_at) AS DATE)";
+
+    @Autowired
+    private RevenueRollupRepository rollupRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate newTransaction;
+
+    @Autowired
+    void setTransactionManager(PlatformTransactionManager transactionManager) {
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * What an order currently adds to the rollups, or null if it is not COMPLETED.
+     */
+    public Contribution snapshot(Order order) {
+        if (order.getStatus() != OrderStatus.COMPLETED || order.getRestaurant() == null) {
+            return null;
+        }
+        LocalDate day = (order.getCompletedAt() != null ? order.getCompletedAt() : order.getCreatedAt()).toLocalDate();
+        return new Contribution(order.getRestaurant().getId(), day, order.getTotalAmount() != null ? order.getTotalAmount() : 0.0);
+    }
+
+    /**
+     * Move an order's contribution from its previous state to its current one.
+     * Covers moves into and out of COMPLETED as well as amount or completion-day changes.
+     */
+    public void applyChange(Contribution before, Order after) {
+        applyChange(before, snapshot(after));
+    }
+
+    public void applyChange(Contribution before, Contribution after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        if (before != null) {
+            increment(before.restaurantId(), before.day(), -before.amount(), -1L);
+        }
+        if (after != null) {
+            increment(after.restaurantId(), after.day(), after.amount(), 1L);
+        }
+    }
+
+    /**
+     * Bulk variant of {@link #applyChange}: deltas are summed per restaurant and day first,
+     * so hundreds of orders completed together cost one UPDATE per bucket.
+     */
+    public void applyChanges(List<Contribution> before, List<Contribution> after) {
+        Map<Bucket, Delta> deltas = new HashMap<>();
+        before.stream().filter(Objects::nonNull)
+            .forEach(c -> deltas.computeIfAbsent(new Bucket(c.restaurantId(), c.day()), b -> new Delta()).add(-c.amount(), -1));
+        after.stream().filter(Objects::nonNull)
+            .forEach(c -> deltas.computeIfAbsent(new Bucket(c.restaurantId(), c.day()), b -> new Delta()).add(c.amount(), 1));
+        deltas.forEach((bucket, delta) -> {
+            if (delta.count != 0 || delta.amount != 0.0) {
+                increment(bucket.restaurantId(), bucket.day(), delta.amount, delta.count);
+            }
+        });
+    }
+
+    public void removeContribution(Order order) {
+        applyChange(snapshot(order), (Contribution) null);
+    }
+
+    private void increment(Long restaurantId, LocalDate day, double amount, long count) {
+        if (rollupRepository.increment(restaurantId, day, amount, count) == 0) {
+            createBucket(restaurantId, day);
+            rollupRepository.increment(restaurantId, day, amount, count);
+        }
+    }
+
+    /**
+     * Create the empty bucket in its own transaction; if a concurrent request created it first
+     * the unique constraint rejects ours and we simply reuse theirs.
+     */
+    private void createBucket(Long restaurantId, LocalDate day) {
+        try {
+            newTransaction.executeWithoutResult(status -> {
+                if (!rollupRepository.existsByRestaurantIdAndRevenueDate(restaurantId, day)) {
+                    RevenueRollup rollup = new RevenueRollup();
+                    rollup.setRestaurantId(restaurantId);
+                    rollup.setRevenueDate(day);
+                    rollupRepository.saveAndFlush(rollup);
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Revenue bucket {}/{} created concurrently", restaurantId, day);
+        }
+    }
+
+    // ============================================
+    // Reads (rollups only, never the orders table)
+    // ============================================
+
+    @Transactional(readOnly = true)
+    public Double getTotalRevenue(Long restaurantId) {
+        return rollupRepository.sumRevenueByRestaurantId(restaurantId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<RevenueBucket> getRevenue(Long restaurantId, RevenueGranularity granularity, LocalDate from, LocalDate to) {
+        Map<LocalDate, RevenueBucket> buckets = new TreeMap<>();
+        for (RevenueRollup day : rollupRepository.findByRestaurantIdAndRevenueDateBetweenOrderByRevenueDateAsc(restaurantId, from, to)) {
+            RevenueBucket bucket = buckets.computeIfAbsent(periodStart(day.getRevenueDate(), granularity),
+                start -> new RevenueBucket(start, 0.0, 0L));
+            bucket.setRevenue(bucket.getRevenue() + day.getRevenue());
+            bucket.setOrderCount(bucket.getOrderCount() + day.getOrderCount());
+        }
+        return new ArrayList<>(buckets.values());
+    }
+
+    private LocalDate periodStart(LocalDate day, RevenueGranularity granularity) {
+        return switch (granularity) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+
+    // ============================================
+    // Rebuild from raw orders
+    // ============================================
+
+    /**
+     * Recompute every rollup from the orders and orders_archive tables in one transaction.
+     * @return number of daily buckets written
+     */
+    public int rebuildAll() {
+        rollupRepository.deleteAllInBulk();
+        int buckets = jdbcTemplate.update(
+            "INSERT INTO restaurant_revenue_daily (restaurant_id, revenue_date, revenue, order_count) " +
+            REBUILD_SELECT + REBUILD_GROUP_BY);
+        log.info("📊 Rebuilt {} revenue rollup buckets", buckets);
+        return buckets;
+    }
+
+    public int rebuildRestaurant(Long restaurantId) {
+        rollupRepository.deleteByRestaurantIdInBulk(restaurantId);
+        int buckets = jdbcTemplate.update(
+            "INSERT INTO restaurant_revenue_daily (restaurant_id, revenue_date, revenue, order_count) " +
+            REBUILD_SELECT + " AND restaurant_id = ?" + REBUILD_GROUP_BY, restaurantId);
+        log.info("📊 Rebuilt {} revenue rollup buckets for restaurant {}", buckets, restaurantId);
+        return buckets;
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isEmpty() {
+        return rollupRepository.count() == 0;
+    }
+
+    public record Contribution(Long restaurantId, LocalDate day, double amount) {
+    }
+
+    private record Bucket(Long restaurantId, LocalDate day) {
+    }
+
+    private static final class Delta {
+        private double amount;
+        private long count;
+
+        private void add(double amount, long count) {
+            this.amount += amount;
+            this.count += count;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.eduka.restaurant.service;
+
+import com.eduka.restaurant.model.MenuItem;
+import com.eduka.restaurant.model.Restaurant;
+import com.eduka.restaurant.repository.MenuItemRepository;
+import com.eduka.restaurant.repository.RestaurantRepository;
+import com.eduka.restaurant.search.TextIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.eduka.restaurant.search.TextIndex.field;
+
+/**
+ * Search over menu items (name, description, category) and restaurants (name, type)
+ * served from in-memory indexes instead of LIKE '%...%' scans.
+ * Built once at startup and kept current by MenuItemService and RestaurantService after each commit.
+ * Until the first build finishes, callers get null and fall back to the database query.
+ */
+@Service
+@Slf4j
+public class SearchIndexService {
+
+    private static final int MAX_RESULTS = 200;
+
+    private final TextIndex<Long> menuItemIndex = new TextIndex<>();
+    private final TextIndex<Long> restaurantIndex = new TextIndex<>();
+    private volatile boolean ready;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        menuItemIndex.clear();
+        restaurantIndex.clear();
+        menuItemRepository.findAll().forEach(this::putMenuItem);
+        restaurantRepository.findAll().forEach(this::putRestaurant);
+        ready = true;
+        log.info("🔎 Search index built: {} menu items, {} restaurants in {} ms",
+            menuItemIndex.size(), restaurantIndex.size(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // ============================================
+    // Queries (ranked ids, best first)
+    // ============================================
+
+    public List<Long> searchMenuItems(String query, int limit) {
+        int results = resultLimit(limit);
+        return ready ? menuItemIndex.search(query, results) : null;
+    }
+
+    public List<Long> searchRestaurants(String query, int limit) {
+        int results = resultLimit(limit);
+        return ready ? restaurantIndex.search(query, results) : null;
+    }
+
+    // Same rule as order pages: capped at MAX_RESULTS, a non-positive limit is a client error
+    private int resultLimit(int limit) {
+        if (limit <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be positive");
+        }
+        return Math.min(limit, MAX_RESULTS);
+    }
+
+    /**
+     * Put loaded entities back in the ranked id order.
+     */
+    public static <T> List<T> inRankOrder(List<Long> ids, Collection<T> entities, Function<T, Long> idOf) {
+        Map<Long, T> byId = entities.stream().collect(Collectors.toMap(idOf, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    // ============================================
+    // Incremental updates, applied after commit
+    // ============================================
+
+    public void indexMenuItem(MenuItem menuItem) {
+        TextIndex.Field[] fields = menuItemFields(menuItem);
+        Long id = menuItem.getId();
+        afterCommit(() -> menuItemIndex.put(id, fields));
+    }
+
+    public void removeMenuItem(Long id) {
+        afterCommit(() -> menuItemIndex.remove(id));
+    }
+
+    public void indexRestaurant(Restaurant restaurant) {
+        TextIndex.Field[] fields = restaurantFields(restaurant);
+        Long id = restaurant.getId();
+        afterCommit(() -> restaurantIndex.put(id, fields));
+    }
+
+    public void removeRestaurant(Long id, Collection<Long> menuItemIds) {
+        afterCommit(() -> {
+            restaurantIndex.remove(id);
+            menuItemIds.forEach(menuItemIndex::remove);
+        });
+    }
+
+    private void putMenuItem(MenuItem menuItem) {
+        menuItemIndex.put(menuItem.getId(), menuItemFields(menuItem));
+    }
+
+    private void putRestaurant(Restaurant restaurant) {
+        restaurantIndex.put(restaurant.getId(), restaurantFields(restaurant));
+    }
+
+    // Name matches rank above category, category above description
+    private TextIndex.Field[] menuItemFields(MenuItem menuItem) {
+        return new TextIndex.Field[] {
+            field(menuItem.getName(), 3.0f),
+            field(menuItem.getCategory(), 2.0f),
+            field(menuItem.getDescription(), 1.0f)
+        };
+    }
+
+    private TextIndex.Field[] restaurantFields(Restaurant restaurant) {
+        return new TextIndex.Field[] {
+            field(restaurant.getName(), 3.0f),
+            field(restaurant.getType(), 2.0f)
+        };
+    }
+
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+}
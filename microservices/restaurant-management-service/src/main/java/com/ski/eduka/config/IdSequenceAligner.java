@@ -0,0 +1,80 @@
+package com.ski.eduka.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the pooled id sequences ahead of the rows already in their tables.
+ * Needed once for databases created while ids were IDENTITY columns, and after anything that inserts
+ * explicit ids with plain SQL (legacy migration, synthetic seeding). Only ever moves a sequence forward,
+ * so blocks already handed to another running instance stay valid.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@Slf4j
+public class IdSequenceAligner {
+
+    // Must match allocationSize of the entities' @SequenceGenerator
+    private static final int ALLOCATION_SIZE = 50;
+
+    // Sequence -> tables whose ids it must stay ahead of; archived orders and lines keep their ids
+    private static final Map<String, List<String>> SEQUENCES = new LinkedHashMap<>();
+
+    static {
+        SEQUENCES.put("restaurants_seq", List.of("restaurants"));
+        SEQUENCES.put("menu_items_seq", List.of("menu_items"));
+        SEQUENCES.put("orders_seq", List.of("orders", "orders_archive"));
+        SEQUENCES.put("order_lines_seq", List.of("order_lines", "order_lines_archive"));
+        SEQUENCES.put("order_outbox_seq", List.of("order_outbox"));
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void align() {
+        // MySQL has no sequences; Hibernate emulates them with a one-row table per sequence
+        boolean tables = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+            connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql")));
+        SEQUENCES.forEach((sequence, sources) -> {
+            long maxId = sources.stream().mapToLong(this::maxId).max().orElse(0);
+            if (maxId == 0) {
+                return;
+            }
+            // The pooled optimizer hands out (value - 49 .. value) for each value it reads
+            long next = maxId + ALLOCATION_SIZE;
+            long current = tables
+                ? jdbcTemplate.queryForObject("SELECT next_val FROM " + sequence, Long.class)
+                : jdbcTemplate.queryForObject("SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE UPPER(SEQUENCE_NAME) = UPPER(?)",
+                    Long.class, sequence);
+            if (current >= next) {
+                return;
+            }
+            if (tables) {
+                jdbcTemplate.update("UPDATE " + sequence + " SET next_val = ?", next);
+            } else {
+                jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + next);
+            }
+            log.info("🔢 Moved {} from {} to {} (max id {})", sequence, current, next, maxId);
+        });
+    }
+
+    private long maxId(String table) {
+        try {
+            Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+            return max != null ? max : 0;
+        } catch (DataAccessException e) {
+            return 0; // table not created yet
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.ski.eduka.config;
+
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * RabbitMQ topology used by the order notification outbox.
+ * Names must match the ones declared by notification-service.
+ */
+@Configuration
+public class RabbitMQConfig {
+    
+    // Exchange
+    public static final String NOTIFICATION_EXCHANGE = "notification.exchange";
+    
+    // Routing keys
+    public static final String ORDER_ROUTING_KEY = "notification.order";
+    
+    // Declaring the exchange is idempotent, so publishing works even if notification-service starts later
+    @Bean
+    public TopicExchange notificationExchange() {
+        return new TopicExchange(NOTIFICATION_EXCHANGE);
+    }
+}
@@ -0,0 +1,78 @@
+package com.ski.eduka.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Heartbeat-based replica lag check.
+ * Each run stamps replica_heartbeat on the primary and reads the stamp back from the replica; the difference
+ * is how far replication is behind (resolution: the check interval). Above max-lag, or if the replica
+ * cannot be queried, read-only transactions are routed to the primary until it catches up.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final ReplicaRoutingDataSource routing;
+    private final Duration maxLag;
+    private final Clock clock;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, ReplicaRoutingDataSource routing, Duration maxLag, Clock clock) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.routing = routing;
+        this.maxLag = maxLag;
+        this.clock = clock;
+        this.primary.execute("CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_at TIMESTAMP NOT NULL)");
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.check-interval-ms:1000}")
+    public void check() {
+        Instant now = clock.instant();
+        boolean available;
+        try {
+            beat(now);
+            Timestamp replicated = replica.queryForObject("SELECT beat_at FROM replica_heartbeat WHERE id = 1", Timestamp.class);
+            Duration lag = Duration.between(replicated.toInstant(), now);
+            lagSeconds = Math.max(0, lag.toMillis()) / 1000.0;
+            available = lag.compareTo(maxLag) <= 0;
+        } catch (DataAccessException e) {
+            // Replica down, or the heartbeat row has not been replicated yet
+            lagSeconds = Double.NaN;
+            available = false;
+        }
+        if (available != routing.isReplicaAvailable()) {
+            if (available) {
+                log.info("📗 Read replica caught up (lag {} s), routing read-only transactions to it", lagSeconds);
+            } else {
+                log.warn("📕 Read replica unavailable or lagging (lag {} s, max {} ms), reads fall back to the primary",
+                    lagSeconds, maxLag.toMillis());
+            }
+            routing.setReplicaAvailable(available);
+        }
+    }
+
+    private void beat(Instant now) {
+        Timestamp beat = Timestamp.from(now);
+        if (primary.update("UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1", beat) == 0) {
+            primary.update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)", beat);
+        }
+    }
+
+    /**
+     * Last measured lag in seconds, NaN if the replica could not be read.
+     */
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+}
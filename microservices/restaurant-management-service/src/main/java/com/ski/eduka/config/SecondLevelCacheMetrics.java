@@ -0,0 +1,53 @@
+package com.ski.eduka.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Hit ratio per second-level cache region (restaurants, menu-items, active-restaurants, ...).
+ * Raw hit/miss/put counters come from hibernate-micrometer as hibernate.second.level.cache.*;
+ * this adds the ratio so dashboards don't have to derive it.
+ */
+@Component
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+    private static final List<String> QUERY_REGIONS = List.of("active-restaurants", "default-query-results-region");
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // Query result regions are created on first use, so they are not listed at startup yet
+        Set<String> regions = new TreeSet<>(Arrays.asList(statistics.getSecondLevelCacheRegionNames()));
+        regions.addAll(QUERY_REGIONS);
+        for (String region : regions) {
+            Gauge.builder("hibernate.second.level.cache.hit.ratio", statistics, s -> hitRatio(s.getCacheRegionStatistics(region)))
+                .tag("region", region)
+                .description("Second-level cache hits / (hits + misses) since startup")
+                .register(registry);
+        }
+    }
+
+    private static double hitRatio(CacheRegionStatistics region) {
+        return region == null ? 0.0 : ratio(region.getHitCount(), region.getMissCount());
+    }
+
+    private static double ratio(long hits, long misses) {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
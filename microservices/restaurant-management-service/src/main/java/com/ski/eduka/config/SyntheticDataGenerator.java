@@ -0,0 +1,257 @@
+package com.ski.eduka.config;
+
+import com.eduka.restaurant.model.OrderStatus;
+import com.eduka.restaurant.repository.RestaurantRepository;
+import com.eduka.restaurant.service.RevenueRollupService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Scale-test seeding: bulk-loads restaurants, menu items, orders and order lines with JDBC batches.
+ * The same seed and end date always produce the same rows. Runs before the other startup runners and
+ * only on an empty database (no restaurants); enable with seed.synthetic.enabled=true.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "seed.synthetic.enabled", havingValue = "true")
+@Slf4j
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final String[] RESTAURANT_TYPES = {"Cafeteria", "Fast Food", "Fine Dining", "Café", "Health Food", "Food Truck"};
+    private static final String[] RESTAURANT_WORDS = {"Campus", "Corner", "Garden", "Express", "Kitchen", "Bistro", "Grill",
+        "Bowl", "Spoon", "Market", "House", "Table"};
+    private static final String[] CATEGORIES = {"Appetizer", "Main Course", "Dessert", "Beverage"};
+    private static final String[] ADJECTIVES = {"Spicy", "Grilled", "Crispy", "Smoked", "Fresh", "Creamy", "Roasted", "Sweet",
+        "Classic", "Vegan"};
+    private static final String[] DISHES = {"Chicken", "Pizza", "Burger", "Salad", "Ramen", "Tacos", "Couscous", "Lasagna",
+        "Brownie", "Smoothie", "Chocolate Cake", "Falafel", "Sandwich", "Soup", "Coffee", "Tea"};
+    private static final OrderStatus[] ACTIVE_STATUSES = {OrderStatus.PENDING, OrderStatus.CONFIRMED, OrderStatus.PREPARING,
+        OrderStatus.READY, OrderStatus.COMPLETED};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private RevenueRollupService revenueRollupService;
+
+    @Autowired
+    private IdSequenceAligner idSequenceAligner;
+
+    @Value("${seed.synthetic.seed:42}")
+    private long seed;
+
+    @Value("${seed.synthetic.restaurants:2000}")
+    private int restaurants;
+
+    @Value("${seed.synthetic.menu-items-per-restaurant:100}")
+    private int menuItemsPerRestaurant;
+
+    @Value("${seed.synthetic.orders:2000000}")
+    private int orders;
+
+    @Value("${seed.synthetic.max-lines-per-order:4}")
+    private int maxLinesPerOrder;
+
+    @Value("${seed.synthetic.users:20000}")
+    private int users;
+
+    @Value("${seed.synthetic.days:365}")
+    private int days;
+
+    // Orders are spread over the `days` days ending here; fixed so reruns produce identical timestamps
+    @Value("${seed.synthetic.end-date:2025-06-30}")
+    private String endDate;
+
+    @Value("${seed.synthetic.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public void run(String... args) {
+        if (restaurantRepository.count() > 0) {
+            log.info("🌱 Synthetic seeding skipped: database already contains restaurants");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Random random = new Random(seed);
+        LocalDateTime firstDay = LocalDate.parse(endDate).minusDays(days).atStartOfDay();
+
+        seedRestaurants(random, firstDay);
+        Menu menu = seedMenuItems(random, firstDay);
+        seedOrders(random, menu, firstDay);
+        // Rows carry explicit ids; move the id sequences past them before JPA inserts anything
+        idSequenceAligner.align();
+        revenueRollupService.rebuildAll();
+
+        log.info("🌱 Synthetic dataset loaded in {} s: {} restaurants, {} menu items, {} orders (seed {})",
+            (System.currentTimeMillis() - start) / 1000, restaurants, menu.size(), orders, seed);
+    }
+
+    private void seedRestaurants(Random random, LocalDateTime createdAt) {
+        Timestamp timestamp = Timestamp.valueOf(createdAt);
+        Batch batch = new Batch(true, "INSERT INTO restaurants (id, name, address, type, description, phone_number, email, " +
+            "opening_hours, image_url, is_active, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        for (long id = 1; id <= restaurants; id++) {
+            String name = RESTAURANT_WORDS[random.nextInt(RESTAURANT_WORDS.length)] + " "
+                + RESTAURANT_WORDS[random.nextInt(RESTAURANT_WORDS.length)] + " " + id;
+            batch.add(id, name, "Building " + (char) ('A' + random.nextInt(26)) + ", Floor " + random.nextInt(5),
+                RESTAURANT_TYPES[random.nextInt(RESTAURANT_TYPES.length)], "Synthetic restaurant " + id,
+                String.format("+216%08d", random.nextInt(100_000_000)), "restaurant" + id + "@eduka.test",
+                "Mon-Fri: 8:00-20:00", null, random.nextInt(10) > 0, timestamp, timestamp);
+        }
+        batch.flush();
+    }
+
+    private Menu seedMenuItems(Random random, LocalDateTime createdAt) {
+        Timestamp timestamp = Timestamp.valueOf(createdAt);
+        Menu menu = new Menu(restaurants * menuItemsPerRestaurant);
+        Batch batch = new Batch(true, "INSERT INTO menu_items (id, name, description, price, category, image_url, is_available, " +
+            "preparation_time, created_at, updated_at, restaurant_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        long id = 1;
+        for (long restaurantId = 1; restaurantId <= restaurants; restaurantId++) {
+            for (int i = 0; i < menuItemsPerRestaurant; i++, id++) {
+                String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + DISHES[random.nextInt(DISHES.length)];
+                double price = Math.round((1.5 + random.nextDouble() * 18.5) * 100) / 100.0;
+                menu.add(name, price);
+                batch.add(id, name, "House " + name.toLowerCase() + " #" + id, price,
+                    CATEGORIES[random.nextInt(CATEGORIES.length)], null, random.nextInt(20) > 0,
+                    5 + random.nextInt(40), timestamp, timestamp, restaurantId);
+            }
+        }
+        batch.flush();
+        return menu;
+    }
+
+    private void seedOrders(Random random, Menu menu, LocalDateTime firstDay) {
+        // Flushed together by hand: a line must never reach the database before its order
+        Batch orderBatch = new Batch(false, "INSERT INTO orders (id, user_id, restaurant_id, total_amount, status, notes, " +
+            "delivery_address, created_at, updated_at, completed_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)");
+        Batch lineBatch = new Batch(false, "INSERT INTO order_lines (id, order_id, menu_item_id, name, unit_price, quantity) " +
+            "VALUES (?, ?, ?, ?, ?, ?)");
+        long spanMinutes = days * 24L * 60L;
+        LocalDateTime recent = firstDay.plusMinutes(spanMinutes).minusDays(2);
+        long lineId = 1;
+
+        for (long orderId = 1; orderId <= orders; orderId++) {
+            long restaurantId = 1 + random.nextInt(restaurants);
+            // Sorted by id like real traffic: later ids are later orders
+            LocalDateTime createdAt = firstDay.plusMinutes(spanMinutes * (orderId - 1) / orders + random.nextInt(5));
+            OrderStatus status = status(random, createdAt.isBefore(recent));
+            LocalDateTime completedAt = status == OrderStatus.COMPLETED ? createdAt.plusMinutes(15 + random.nextInt(45)) : null;
+            LocalDateTime updatedAt = completedAt != null ? completedAt : createdAt.plusMinutes(random.nextInt(30));
+
+            int lines = 1 + random.nextInt(maxLinesPerOrder);
+            int firstItem = (int) (restaurantId - 1) * menuItemsPerRestaurant;
+            double total = 0;
+            for (int l = 0, offset = random.nextInt(menuItemsPerRestaurant); l < lines; l++) {
+                // Consecutive menu positions so an order never repeats an item
+                int item = firstItem + (offset + l) % menuItemsPerRestaurant;
+                int quantity = 1 + (random.nextInt(10) == 0 ? random.nextInt(3) : 0);
+                total += menu.price(item) * quantity;
+                lineBatch.add(lineId++, orderId, item + 1L, menu.name(item), menu.price(item), quantity);
+            }
+
+            orderBatch.add(orderId, "user-" + random.nextInt(users), restaurantId, Math.round(total * 100) / 100.0,
+                status.name(), null, null, Timestamp.valueOf(createdAt), Timestamp.valueOf(updatedAt),
+                completedAt != null ? Timestamp.valueOf(completedAt) : null);
+            if (orderBatch.isFull()) {
+                orderBatch.flush();
+                lineBatch.flush();
+            }
+            if (orderId % 100_000 == 0) {
+                log.info("🌱 {} / {} orders", orderId, orders);
+            }
+        }
+        orderBatch.flush();
+        lineBatch.flush();
+    }
+
+    // Older orders are settled; the last two days still have orders in the kitchen
+    private OrderStatus status(Random random, boolean settled) {
+        int roll = random.nextInt(100);
+        if (settled) {
+            return roll < 85 ? OrderStatus.COMPLETED : roll < 95 ? OrderStatus.CANCELLED : OrderStatus.DELIVERED;
+        }
+        return ACTIVE_STATUSES[roll % ACTIVE_STATUSES.length];
+    }
+
+    /**
+     * Rows buffered for one JDBC batch.
+     */
+    private final class Batch {
+        private final boolean autoFlush;
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>(batchSize);
+
+        private Batch(boolean autoFlush, String sql) {
+            this.autoFlush = autoFlush;
+            this.sql = sql;
+        }
+
+        private void add(Object... row) {
+            rows.add(row);
+            if (autoFlush && isFull()) {
+                flush();
+            }
+        }
+
+        private boolean isFull() {
+            return rows.size() >= batchSize;
+        }
+
+        private void flush() {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+    }
+
+    /**
+     * Names and prices of every generated menu item, indexed by id - 1, for order line snapshots.
+     */
+    private static final class Menu {
+        private final String[] names;
+        private final double[] prices;
+        private int size;
+
+        private Menu(int capacity) {
+            names = new String[capacity];
+            prices = new double[capacity];
+        }
+
+        private void add(String name, double price) {
+            names[size] = name;
+            prices[size] = price;
+            size++;
+        }
+
+        private String name(int index) {
+            return names[index];
+        }
+
+        private double price(int index) {
+            return prices[index];
+        }
+
+        private int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.ski.eduka.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+
+/**
+ * STOMP over WebSocket for the kitchen order board.
+ * - Snapshot: SUBSCRIBE /app/restaurants/{id}/orders (answered once by KitchenBoardController)
+ * - Deltas:   SUBSCRIBE /topic/restaurants/{id}/orders
+ * Handshakes are only accepted from the frontend origins of spring.web.cors.allowed-origins.
+ */
+@Configuration
+@EnableWebSocketMessageBroker
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+    
+    @Value("${spring.web.cors.allowed-origins:http://localhost:4200}")
+    private String[] allowedOrigins;
+    
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint("/ws")
+                .setAllowedOrigins(allowedOrigins);
+        // SockJS fallback for browsers/proxies without WebSocket support
+        registry.addEndpoint("/ws-sockjs")
+                .setAllowedOrigins(allowedOrigins)
+                .withSockJS();
+    }
+    
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.enableSimpleBroker("/topic");
+        registry.setApplicationDestinationPrefixes("/app");
+    }
+}
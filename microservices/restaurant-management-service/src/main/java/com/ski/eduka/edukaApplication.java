@@ -12,7 +12,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 @SpringBootApplication
 @EnableDiscoveryClient
 @EnableFeignClients(basePackages = "com.eduka.restaurant.client")
-@ComponentScan(basePackages = {"com.ski.eduka", "com.eduka.restaurant.controller", "com.eduka.restaurant.service", "com.eduka.restaurant.model", "com.eduka.restaurant.repository"})
+@ComponentScan(basePackages = {"com.ski.eduka", "com.eduka.restaurant.controller", "com.eduka.restaurant.service", "com.eduka.restaurant.model", "com.eduka.restaurant.repository", "com.eduka.restaurant.monitoring"})
 @EntityScan(basePackages = {"com.eduka.restaurant.model", "com.ski.eduka.entity"})
 @EnableJpaRepositories(basePackages = {"com.eduka.restaurant.repository", "com.ski.eduka.repository"})
 public class edukaApplication {
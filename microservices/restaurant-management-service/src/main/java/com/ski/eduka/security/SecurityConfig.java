@@ -32,6 +32,7 @@ public class SecurityConfig {
                         .allowedOriginPatterns("http://localhost:4200", "*")
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                         .allowedHeaders("*")
+                        .exposedHeaders("Idempotent-Replayed")
                         .allowCredentials(true)
                         .maxAge(3600);
             }
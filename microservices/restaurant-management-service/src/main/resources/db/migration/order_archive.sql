@@ -0,0 +1,34 @@
+-- Cold storage for archived orders (ArchivedOrder / ArchivedOrderLine, filled by OrderArchiveService).
+-- Apply manually on databases running with spring.jpa.hibernate.ddl-auto=validate.
+
+CREATE TABLE IF NOT EXISTS orders_archive (
+    id                BIGINT           PRIMARY KEY,
+    user_id           VARCHAR(255)     NOT NULL,
+    restaurant_id     BIGINT           NOT NULL,
+    total_amount      DOUBLE PRECISION NOT NULL,
+    status            VARCHAR(255)     NOT NULL,
+    notes             VARCHAR(255),
+    delivery_address  VARCHAR(255),
+    created_at        TIMESTAMP        NOT NULL,
+    updated_at        TIMESTAMP,
+    completed_at      TIMESTAMP,
+    version           BIGINT           NOT NULL,
+    archived_at       TIMESTAMP        NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_orders_archive_created_at_id ON orders_archive (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_orders_archive_restaurant_created_at_id ON orders_archive (restaurant_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_orders_archive_user_id ON orders_archive (user_id);
+
+CREATE TABLE IF NOT EXISTS order_lines_archive (
+    id            BIGINT           PRIMARY KEY,
+    order_id      BIGINT           NOT NULL,
+    menu_item_id  BIGINT           NOT NULL,
+    name          VARCHAR(255)     NOT NULL,
+    unit_price    DOUBLE PRECISION NOT NULL,
+    quantity      INTEGER          NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_lines_archive_order_id ON order_lines_archive (order_id);
+
+CREATE INDEX IF NOT EXISTS idx_orders_status_updated_at ON orders (status, updated_at);
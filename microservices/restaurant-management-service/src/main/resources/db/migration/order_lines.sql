@@ -0,0 +1,37 @@
+-- Order lines replace the order_menu_items many-to-many join table.
+-- Apply manually on databases running with spring.jpa.hibernate.ddl-auto=validate
+-- (H2 dev databases are migrated automatically by OrderLineMigration).
+
+CREATE TABLE IF NOT EXISTS order_lines (
+    id            BIGINT           PRIMARY KEY,
+    order_id      BIGINT           NOT NULL REFERENCES orders (id),
+    menu_item_id  BIGINT           NOT NULL,
+    name          VARCHAR(255)     NOT NULL,
+    unit_price    DOUBLE PRECISION NOT NULL,
+    quantity      INTEGER          NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_lines_order_id ON order_lines (order_id);
+
+-- Ids come from the pooled sequence (allocationSize 50 on OrderLine); IdSequenceAligner moves it
+-- past existing rows at startup
+CREATE SEQUENCE IF NOT EXISTS order_lines_seq START WITH 1 INCREMENT BY 50;
+
+-- One line per (order, menu item); repeated join rows become the quantity
+INSERT INTO order_lines (id, order_id, menu_item_id, name, unit_price, quantity)
+SELECT NEXT VALUE FOR order_lines_seq, g.order_id, g.menu_item_id, g.name, g.price, g.quantity
+FROM (
+    SELECT omi.order_id, omi.menu_item_id, m.name, m.price, COUNT(*) AS quantity
+    FROM order_menu_items omi
+    JOIN menu_items m ON m.id = omi.menu_item_id
+    WHERE NOT EXISTS (SELECT 1 FROM order_lines ol WHERE ol.order_id = omi.order_id)
+    GROUP BY omi.order_id, omi.menu_item_id, m.name, m.price
+) g;
+
+-- Migrated join rows are removed, as OrderLineMigration does, so the old foreign key
+-- no longer blocks order deletion
+DELETE FROM order_menu_items
+WHERE order_id IN (SELECT DISTINCT order_id FROM order_lines);
+
+-- Once verified:
+-- DROP TABLE order_menu_items;
@@ -0,0 +1,4 @@
+-- Optimistic-lock version for orders (Order.version).
+-- Apply manually on databases running with spring.jpa.hibernate.ddl-auto=validate.
+
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,44 @@
+package com.eduka.restaurant.monitoring;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Test helper: run an action and fail if it executes more SQL statements than its budget.
+ * <pre>
+ * QueryBudget.assertAtMost(4, () -> mockMvc.perform(get("/api/orders/restaurant/1")));
+ * </pre>
+ * The failure message lists the statements by how often they ran, so an N+1 is obvious.
+ */
+public final class QueryBudget {
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private QueryBudget() {
+    }
+
+    public static SqlScope assertAtMost(int maxStatements, Action action) throws Exception {
+        SqlScope scope;
+        try (SqlScope capture = SqlStatistics.capture()) {
+            scope = capture;
+            action.run();
+        }
+        if (scope.getStatements() > maxStatements) {
+            fail("Query budget exceeded: " + scope.getStatements() + " statements, budget " + maxStatements + "\n"
+                + describe(scope));
+        }
+        return scope;
+    }
+
+    private static String describe(SqlScope scope) {
+        return scope.getExecutions().entrySet().stream()
+            .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+            .map(e -> "  " + e.getValue() + "x " + e.getKey())
+            .collect(Collectors.joining("\n"));
+    }
+}
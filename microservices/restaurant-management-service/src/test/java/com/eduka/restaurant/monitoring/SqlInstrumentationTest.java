@@ -0,0 +1,121 @@
+package com.eduka.restaurant.monitoring;
+
+import com.eduka.restaurant.client.NotificationServiceClient;
+import com.eduka.restaurant.client.UserClient;
+import com.eduka.restaurant.model.MenuItem;
+import com.eduka.restaurant.model.Order;
+import com.eduka.restaurant.model.Restaurant;
+import com.eduka.restaurant.repository.MenuItemRepository;
+import com.eduka.restaurant.repository.OrderRepository;
+import com.eduka.restaurant.repository.RestaurantRepository;
+import com.ski.eduka.edukaApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(classes = edukaApplication.class, properties = {
+    "spring.datasource.url=jdbc:h2:mem:sql_instrumentation;DB_CLOSE_DELAY=-1",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false",
+    "spring.sql.init.mode=never",
+    "eureka.client.enabled=false",
+    "outbox.relay.enabled=false",
+    "orders.archive.enabled=false"
+})
+@AutoConfigureMockMvc
+class SqlInstrumentationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private NotificationServiceClient notificationServiceClient;
+
+    @MockBean
+    private UserClient userClient;
+
+    @Test
+    void restaurantOrdersEndpointStaysWithinBudgetWhateverTheOrderCount() throws Exception {
+        Long restaurantId = seedOrders(30);
+
+        // Orders, their lines (batched by 50) and the archive union: a constant, not one query per order
+        QueryBudget.assertAtMost(6, () -> mockMvc.perform(get("/api/orders/restaurant/" + restaurantId))
+            .andExpect(status().isOk()));
+
+        assertNotNull(meterRegistry.find("sql.request.statements")
+            .tags("method", "GET", "uri", "/api/orders/restaurant/{restaurantId}").summary());
+        assertNotNull(meterRegistry.find("sql.repository.statements")
+            .tags("repository", "OrderRepository", "method", "findByRestaurantId").summary());
+    }
+
+    @Test
+    void statementsAndRowsAreCounted() throws Exception {
+        seedOrders(5);
+
+        SqlScope scope = QueryBudget.assertAtMost(1, () -> jdbcTemplate.queryForList("SELECT id FROM orders"));
+
+        assertEquals(1, scope.getStatements());
+        assertEquals(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Long.class), scope.getRows());
+    }
+
+    @Test
+    void budgetOverrunFailsTheTest() {
+        assertThrows(AssertionError.class, () -> QueryBudget.assertAtMost(2, () -> {
+            for (int i = 0; i < 3; i++) {
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM restaurants", Long.class);
+            }
+        }));
+    }
+
+    private Long seedOrders(int count) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setName("Budget Cafeteria");
+        restaurant = restaurantRepository.save(restaurant);
+        MenuItem soup = menuItem(restaurant, "Soup", 4.0);
+        MenuItem bread = menuItem(restaurant, "Bread", 1.5);
+        for (int i = 0; i < count; i++) {
+            Order order = new Order();
+            order.setUserId("student-" + i);
+            order.setRestaurant(restaurant);
+            order.addItems(List.of(soup, bread));
+            orderRepository.save(order);
+        }
+        return restaurant.getId();
+    }
+
+    private MenuItem menuItem(Restaurant restaurant, String name, double price) {
+        MenuItem item = new MenuItem();
+        item.setName(name);
+        item.setPrice(price);
+        item.setRestaurant(restaurant);
+        return menuItemRepository.save(item);
+    }
+}
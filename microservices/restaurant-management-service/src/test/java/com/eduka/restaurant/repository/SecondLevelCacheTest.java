@@ -0,0 +1,87 @@
+package com.eduka.restaurant.repository;
+
+import com.eduka.restaurant.client.NotificationServiceClient;
+import com.eduka.restaurant.client.UserClient;
+import com.eduka.restaurant.model.Restaurant;
+import com.ski.eduka.edukaApplication;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = edukaApplication.class, properties = {
+    "spring.datasource.url=jdbc:h2:mem:second_level_cache;DB_CLOSE_DELAY=-1",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false",
+    "spring.sql.init.mode=never",
+    "eureka.client.enabled=false",
+    "outbox.relay.enabled=false",
+    "orders.archive.enabled=false"
+})
+class SecondLevelCacheTest {
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private NotificationServiceClient notificationServiceClient;
+
+    @MockBean
+    private UserClient userClient;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void resetStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void restaurantIsLoadedFromCacheAfterFirstRead() {
+        Long id = restaurantRepository.save(restaurant("Cached Cafeteria")).getId();
+        statistics.clear();
+
+        // Each read runs in its own session, so only the second-level cache can avoid the SELECT
+        for (int i = 0; i < 3; i++) {
+            transactionTemplate.executeWithoutResult(status -> restaurantRepository.findById(id).orElseThrow());
+        }
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(3, statistics.getDomainDataRegionStatistics("restaurants").getHitCount());
+    }
+
+    @Test
+    void activeRestaurantsQueryIsCachedUntilRestaurantsChange() {
+        restaurantRepository.save(restaurant("Active One"));
+        int before = restaurantRepository.findByIsActiveTrue().size();
+        restaurantRepository.findByIsActiveTrue();
+        assertTrue(statistics.getQueryCacheHitCount() >= 1);
+
+        restaurantRepository.save(restaurant("Active Two"));
+        long misses = statistics.getQueryCacheMissCount();
+
+        assertEquals(before + 1, restaurantRepository.findByIsActiveTrue().size());
+        assertEquals(misses + 1, statistics.getQueryCacheMissCount());
+    }
+
+    private Restaurant restaurant(String name) {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setName(name);
+        return restaurant;
+    }
+}
@@ -0,0 +1,69 @@
+package com.eduka.restaurant.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.eduka.restaurant.search.TextIndex.field;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextIndexTest {
+
+    private TextIndex<Long> menu() {
+        TextIndex<Long> index = new TextIndex<>();
+        index.put(1L, field("Chicken Burger", 3), field("Main Course", 2), field("Grilled chicken, cheddar", 1));
+        index.put(2L, field("Pizza Margherita", 3), field("Main Course", 2), field("Tomato, mozzarella", 1));
+        index.put(3L, field("Crème brûlée", 3), field("Dessert", 2), field("Vanilla custard", 1));
+        index.put(4L, field("Caesar Salad", 3), field("Appetizer", 2), field("Romaine, chicken, parmesan", 1));
+        return index;
+    }
+
+    @Test
+    void exactNameMatchRanksAboveDescriptionMatch() {
+        assertEquals(List.of(1L, 4L), menu().search("chicken", 10));
+    }
+
+    @Test
+    void prefixQueriesMatchWhileTyping() {
+        assertEquals(List.of(2L), menu().search("piz", 10));
+        assertEquals(List.of(2L), menu().search("pizza marg", 10));
+    }
+
+    @Test
+    void toleratesTyposAndAccents() {
+        assertEquals(List.of(2L), menu().search("piza", 10));
+        assertEquals(List.of(1L, 4L), menu().search("chiken", 10));
+        assertEquals(List.of(3L), menu().search("creme brulee", 10));
+    }
+
+    @Test
+    void everyTokenMustMatch() {
+        assertEquals(List.of(4L), menu().search("chicken salad", 10));
+        assertTrue(menu().search("chicken dessert", 10).isEmpty());
+    }
+
+    @Test
+    void hugeLimitReturnsEveryMatch() {
+        assertEquals(List.of(1L, 4L), menu().search("chicken", Integer.MAX_VALUE));
+    }
+
+    @Test
+    void updatesAndRemovalsAreIncremental() {
+        TextIndex<Long> index = menu();
+
+        index.put(2L, field("Pizza Quattro Formaggi", 3));
+        assertTrue(index.search("margherita", 10).isEmpty());
+        assertEquals(List.of(2L), index.search("formaggi", 10));
+
+        index.remove(1L);
+        assertEquals(List.of(4L), index.search("chicken", 10));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void distanceCountsTranspositionsAsOneEdit() {
+        assertEquals(1, TextIndex.distance("chikcen", "chicken", 2));
+        assertEquals(3, TextIndex.distance("abc", "xyzabc", 2));
+    }
+}
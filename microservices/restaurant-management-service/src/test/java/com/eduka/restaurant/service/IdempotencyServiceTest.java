@@ -0,0 +1,159 @@
+package com.eduka.restaurant.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyServiceTest {
+
+    private static final int THREADS = 32;
+
+    @Test
+    void parallelIdenticalSubmissionsExecuteOnce() throws Exception {
+        IdempotencyService service = new IdempotencyService(Duration.ofMinutes(10), 1000, Duration.ofSeconds(10), Clock.systemUTC());
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Callable<IdempotencyService.Result<Object>>> submissions = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            submissions.add(() -> {
+                start.await();
+                return service.execute("user-1:key-1", "same-body", () -> {
+                    executions.incrementAndGet();
+                    sleep(200); // keep the first execution in flight while the others arrive
+                    return new Object();
+                });
+            });
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<IdempotencyService.Result<Object>>> futures = new ArrayList<>();
+            for (Callable<IdempotencyService.Result<Object>> submission : submissions) {
+                futures.add(pool.submit(submission));
+            }
+            start.countDown();
+
+            Object first = futures.get(0).get().value();
+            int replayed = 0;
+            for (Future<IdempotencyService.Result<Object>> future : futures) {
+                IdempotencyService.Result<Object> result = future.get();
+                assertSame(first, result.value());
+                if (result.replayed()) {
+                    replayed++;
+                }
+            }
+            assertEquals(1, executions.get());
+            assertEquals(THREADS - 1, replayed);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void completedResultIsReplayedWithoutExecuting() {
+        IdempotencyService service = new IdempotencyService(Duration.ofMinutes(10), 1000, Duration.ofSeconds(1), Clock.systemUTC());
+        AtomicInteger executions = new AtomicInteger();
+
+        IdempotencyService.Result<Integer> first = service.execute("k", "body", executions::incrementAndGet);
+        IdempotencyService.Result<Integer> replay = service.execute("k", "body", executions::incrementAndGet);
+
+        assertFalse(first.replayed());
+        assertTrue(replay.replayed());
+        assertEquals(1, replay.value());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void sameKeyWithDifferentRequestIsRejected() {
+        IdempotencyService service = new IdempotencyService(Duration.ofMinutes(10), 1000, Duration.ofSeconds(1), Clock.systemUTC());
+        service.execute("k", "body-a", () -> 1);
+
+        assertThrows(ResponseStatusException.class, () -> service.execute("k", "body-b", () -> 2));
+    }
+
+    @Test
+    void failedExecutionCanBeRetried() {
+        IdempotencyService service = new IdempotencyService(Duration.ofMinutes(10), 1000, Duration.ofSeconds(1), Clock.systemUTC());
+
+        assertThrows(IllegalStateException.class, () -> service.execute("k", "body", () -> {
+            throw new IllegalStateException("boom");
+        }));
+        IdempotencyService.Result<Integer> retry = service.execute("k", "body", () -> 42);
+
+        assertFalse(retry.replayed());
+        assertEquals(42, retry.value());
+    }
+
+    @Test
+    void expiredEntriesArePurgedAndStoreStaysBounded() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T12:00:00Z"));
+        IdempotencyService service = new IdempotencyService(Duration.ofMinutes(5), 10, Duration.ofSeconds(1), clock);
+
+        for (int i = 0; i < 50; i++) {
+            service.execute("k" + i, "body", () -> 1);
+        }
+        assertTrue(service.size() <= 11);
+
+        clock.advance(Duration.ofMinutes(6));
+        service.purgeExpired();
+        assertEquals(0, service.size());
+
+        AtomicInteger executions = new AtomicInteger();
+        service.execute("k49", "body", executions::incrementAndGet);
+        assertEquals(1, executions.get());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.eduka.restaurant.service;
+
+import com.eduka.restaurant.client.NotificationServiceClient;
+import com.eduka.restaurant.client.UserClient;
+import com.eduka.restaurant.model.Restaurant;
+import com.eduka.restaurant.repository.MenuItemRepository;
+import com.eduka.restaurant.repository.RestaurantRepository;
+import com.ski.eduka.edukaApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Compares the in-memory search index with the LIKE '%...%' path at 100k menu items.
+ *
+ * Run with: mvn test -Dtest=MenuSearchBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest(classes = edukaApplication.class, properties = {
+    "spring.datasource.url=jdbc:h2:mem:search_benchmark;DB_CLOSE_DELAY=-1",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false",
+    "spring.sql.init.mode=never",
+    "eureka.client.enabled=false",
+    "outbox.relay.enabled=false"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class MenuSearchBenchmarkTest {
+
+    private static final int ITEMS = 100_000;
+    private static final int WARMUP_RUNS = 20;
+    private static final int MEASURED_RUNS = 200;
+    private static final String[] QUERIES = {"chicken", "piz", "chocolat", "burgr", "spicy ramen", "sal"};
+
+    private static final String[] ADJECTIVES = {"Spicy", "Grilled", "Crispy", "Smoked", "Fresh", "Creamy", "Roasted", "Sweet"};
+    private static final String[] DISHES = {"Chicken", "Pizza", "Burger", "Salad", "Ramen", "Tacos", "Couscous", "Lasagna",
+        "Brownie", "Smoothie", "Chocolate Cake", "Falafel"};
+    private static final String[] CATEGORIES = {"Appetizer", "Main Course", "Dessert", "Beverage"};
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private NotificationServiceClient notificationServiceClient;
+
+    @MockBean
+    private UserClient userClient;
+
+    @BeforeEach
+    void setUp() {
+        menuItemRepository.deleteAll();
+        restaurantRepository.deleteAll();
+        Restaurant restaurant = new Restaurant();
+        restaurant.setName("Benchmark Cafeteria");
+        Long restaurantId = restaurantRepository.save(restaurant).getId();
+
+        Random random = new Random(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + DISHES[random.nextInt(DISHES.length)] + " " + i;
+            String description = "House " + DISHES[random.nextInt(DISHES.length)].toLowerCase() + " with "
+                + ADJECTIVES[random.nextInt(ADJECTIVES.length)].toLowerCase() + " sauce";
+            rows.add(new Object[] {name, description, 5.0 + random.nextInt(20), CATEGORIES[random.nextInt(CATEGORIES.length)],
+                true, restaurantId, now, now});
+        }
+        // ids come from the entity's sequence; values taken here are never handed out again by Hibernate
+        jdbcTemplate.batchUpdate("INSERT INTO menu_items (id, name, description, price, category, is_available, restaurant_id, " +
+            "created_at, updated_at) VALUES (NEXT VALUE FOR menu_items_seq, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        searchIndexService.rebuild();
+    }
+
+    @Test
+    void compareIndexWithLike() {
+        for (String query : QUERIES) {
+            Result like = measure(() -> menuItemRepository.findByNameContainingIgnoreCase(query).size());
+            Result index = measure(() -> searchIndexService.searchMenuItems(query, 50).size());
+            log.info("🔎 '{}': LIKE {} hits, p99 {} ms | index {} hits, p99 {} ms",
+                query, like.hits, String.format("%.3f", like.p99Millis),
+                index.hits, String.format("%.3f", index.p99Millis));
+        }
+
+        // LIKE finds nothing for a misspelling, the index still does
+        assertFalse(searchIndexService.searchMenuItems("burgr", 50).isEmpty());
+    }
+
+    private Result measure(Supplier<Integer> search) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            search.get();
+        }
+        long[] latencies = new long[MEASURED_RUNS];
+        int hits = 0;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            hits = search.get();
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        int p99Index = (int) Math.ceil(0.99 * MEASURED_RUNS) - 1;
+        return new Result(hits, latencies[p99Index] / 1_000_000.0);
+    }
+
+    private record Result(int hits, double p99Millis) {
+    }
+}
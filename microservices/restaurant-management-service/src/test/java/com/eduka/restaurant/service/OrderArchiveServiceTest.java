@@ -0,0 +1,132 @@
+package com.eduka.restaurant.service;
+
+import com.eduka.restaurant.client.NotificationServiceClient;
+import com.eduka.restaurant.client.UserClient;
+import com.eduka.restaurant.dto.OrderCursor;
+import com.eduka.restaurant.model.MenuItem;
+import com.eduka.restaurant.model.Order;
+import com.eduka.restaurant.model.OrderStatus;
+import com.eduka.restaurant.model.Restaurant;
+import com.eduka.restaurant.repository.MenuItemRepository;
+import com.eduka.restaurant.repository.OrderRepository;
+import com.eduka.restaurant.repository.RestaurantRepository;
+import com.ski.eduka.edukaApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest(classes = edukaApplication.class, properties = {
+    "spring.datasource.url=jdbc:h2:mem:order_archive;DB_CLOSE_DELAY=-1",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false",
+    "spring.sql.init.mode=never",
+    "eureka.client.enabled=false",
+    "outbox.relay.enabled=false",
+    "orders.archive.enabled=false"
+})
+class OrderArchiveServiceTest {
+
+    @Autowired
+    private OrderArchiveService archiveService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private NotificationServiceClient notificationServiceClient;
+
+    @MockBean
+    private UserClient userClient;
+
+    @Test
+    void oldTerminalOrdersMoveToArchiveAndStayReadable() {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setName("Archive Cafeteria");
+        restaurant = restaurantRepository.save(restaurant);
+        MenuItem soup = new MenuItem();
+        soup.setName("Soup");
+        soup.setPrice(4.0);
+        soup.setRestaurant(restaurant);
+        soup = menuItemRepository.save(soup);
+
+        LocalDateTime now = LocalDateTime.now();
+        Long oldCompleted = save(restaurant, soup, OrderStatus.COMPLETED, now.minusDays(400));
+        Long oldCancelled = save(restaurant, soup, OrderStatus.CANCELLED, now.minusDays(300));
+        Long oldPending = save(restaurant, soup, OrderStatus.PENDING, now.minusDays(350));
+        Long recentCompleted = save(restaurant, soup, OrderStatus.COMPLETED, now.minusDays(1));
+
+        int moved = transactionTemplate.execute(status -> archiveService.archiveBatch(now.minusDays(180), 100));
+
+        assertEquals(2, moved);
+        assertEquals(2L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Long.class));
+        assertEquals(2L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders_archive", Long.class));
+
+        Long restaurantId = restaurant.getId();
+        transactionTemplate.executeWithoutResult(status -> {
+            assertEquals(4, orderRepository.findByRestaurantId(restaurantId).size());
+            assertEquals(2, orderRepository.findByStatus(OrderStatus.COMPLETED).size());
+
+            // Keyset page merges both tables newest first
+            List<Order> page = orderRepository.findPageBefore(OrderCursor.START.getCreatedAt(), OrderCursor.START.getId(),
+                PageRequest.of(0, 3));
+            assertEquals(List.of(recentCompleted, oldCancelled, oldPending), page.stream().map(Order::getId).toList());
+
+            Order archived = orderRepository.findByIdWithItems(oldCompleted);
+            assertNotNull(archived);
+            assertEquals(1, archived.getItems().size());
+            assertEquals(4.0, archived.getTotalAmount(), 0.0001);
+            assertEquals(restaurantId, archived.getRestaurant().getId());
+
+            try (var stream = orderRepository.streamByRestaurantId(restaurantId)) {
+                assertEquals(List.of(recentCompleted, oldCancelled, oldPending, oldCompleted),
+                    stream.map(Order::getId).toList());
+            }
+        });
+
+        // Deleting the restaurant takes its hot orders along; archived ones keep a placeholder with its id
+        transactionTemplate.executeWithoutResult(status -> restaurantRepository.deleteById(restaurantId));
+        transactionTemplate.executeWithoutResult(status -> {
+            try (var stream = orderRepository.streamByRestaurantId(restaurantId)) {
+                List<Order> orphans = stream.toList();
+                assertEquals(List.of(oldCancelled, oldCompleted), orphans.stream().map(Order::getId).toList());
+                orphans.forEach(order -> {
+                    assertEquals(restaurantId, order.getRestaurant().getId());
+                    assertEquals(1, order.getItems().size());
+                });
+            }
+        });
+    }
+
+    private Long save(Restaurant restaurant, MenuItem item, OrderStatus status, LocalDateTime at) {
+        Order order = new Order();
+        order.setUserId("student");
+        order.setRestaurant(restaurant);
+        order.setStatus(status);
+        order.addItem(item);
+        Long id = orderRepository.save(order).getId();
+        jdbcTemplate.update("UPDATE orders SET created_at = ?, updated_at = ? WHERE id = ?", at, at, id);
+        return id;
+    }
+}
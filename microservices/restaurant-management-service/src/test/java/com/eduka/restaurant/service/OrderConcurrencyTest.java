@@ -0,0 +1,159 @@
+package com.eduka.restaurant.service;
+
+import com.eduka.restaurant.client.NotificationServiceClient;
+import com.eduka.restaurant.client.UserClient;
+import com.eduka.restaurant.model.MenuItem;
+import com.eduka.restaurant.model.Order;
+import com.eduka.restaurant.model.OrderLine;
+import com.eduka.restaurant.model.Restaurant;
+import com.eduka.restaurant.repository.MenuItemRepository;
+import com.eduka.restaurant.repository.OrderRepository;
+import com.eduka.restaurant.repository.RestaurantRepository;
+import com.ski.eduka.edukaApplication;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Many cashiers editing one order at once: every acknowledged add/remove must be
+ * reflected exactly once in the final quantity and total.
+ *
+ * 16 threads contending on one row, so it is kept out of the default suite like the benchmarks.
+ * Run with: mvn test -Dtest=OrderConcurrencyTest -Dbenchmark=true
+ */
+@SpringBootTest(classes = edukaApplication.class, properties = {
+    "spring.datasource.url=jdbc:h2:mem:order_concurrency;DB_CLOSE_DELAY=-1",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false",
+    "spring.sql.init.mode=never",
+    "eureka.client.enabled=false",
+    "outbox.relay.enabled=false",
+    "orders.optimistic-retry.max-attempts=" + OrderConcurrencyTest.MAX_ATTEMPTS,
+    "orders.optimistic-retry.backoff-ms=5"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class OrderConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ROUNDS = 10; // each round: add, add, remove
+    private static final double PRICE = 2.5;
+    static final int MAX_ATTEMPTS = 50;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private NotificationServiceClient notificationServiceClient;
+
+    @MockBean
+    private UserClient userClient;
+
+    @Test
+    void concurrentItemChangesAreNeitherLostNorDoubleApplied() throws Exception {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setName("Concurrency Cafeteria");
+        restaurant = restaurantRepository.save(restaurant);
+
+        MenuItem coffee = new MenuItem();
+        coffee.setName("Coffee");
+        coffee.setPrice(PRICE);
+        coffee.setRestaurant(restaurant);
+        Long coffeeId = menuItemRepository.save(coffee).getId();
+
+        Order order = new Order();
+        order.setUserId("cashier");
+        order.setRestaurant(restaurant);
+        order.calculateTotal();
+        Long orderId = orderRepository.save(order).getId();
+
+        AtomicInteger adds = new AtomicInteger();
+        AtomicInteger removes = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < ROUNDS; round++) {
+                        // A remove only follows this thread's own acknowledged adds, so the line never runs empty
+                        boolean added = apply(() -> orderService.addItemToOrder(orderId, coffeeId), adds, rejected);
+                        added |= apply(() -> orderService.addItemToOrder(orderId, coffeeId), adds, rejected);
+                        if (added) {
+                            apply(() -> orderService.removeItemFromOrder(orderId, coffeeId), removes, rejected);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        int expectedQuantity = adds.get() - removes.get();
+        transactionTemplate.executeWithoutResult(status -> {
+            Order result = orderRepository.findById(orderId).orElseThrow();
+            int quantity = result.getItems().stream().mapToInt(OrderLine::getQuantity).sum();
+            assertEquals(expectedQuantity, quantity);
+            assertEquals(expectedQuantity * PRICE, result.getTotalAmount(), 0.0001);
+        });
+
+        assertTrue(adds.get() > 0);
+        // Every rejected change is one exhausted retry loop, i.e. MAX_ATTEMPTS recorded conflicts
+        assertEquals(rejected.get(), count("restaurant.orders.optimistic.exhausted"), 0.0);
+        assertTrue(count("restaurant.orders.optimistic.conflicts") >= (double) rejected.get() * MAX_ATTEMPTS);
+    }
+
+    private double count(String counter) {
+        return meterRegistry.find(counter).counters().stream().mapToDouble(Counter::count).sum();
+    }
+
+    private boolean apply(Runnable change, AtomicInteger acknowledged, AtomicInteger rejected) {
+        try {
+            change.run();
+            acknowledged.incrementAndGet();
+            return true;
+        } catch (ResponseStatusException e) {
+            // Retries exhausted: the change was not applied, and the caller was told so
+            rejected.incrementAndGet();
+            return false;
+        }
+    }
+}
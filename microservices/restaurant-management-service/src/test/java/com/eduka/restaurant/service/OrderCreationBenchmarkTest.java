@@ -0,0 +1,163 @@
+package com.eduka.restaurant.service;
+
+import com.eduka.restaurant.client.NotificationServiceClient;
+import com.eduka.restaurant.client.UserClient;
+import com.eduka.restaurant.model.MenuItem;
+import com.eduka.restaurant.model.Order;
+import com.eduka.restaurant.model.Restaurant;
+import com.eduka.restaurant.repository.MenuItemRepository;
+import com.eduka.restaurant.repository.OrderRepository;
+import com.eduka.restaurant.repository.RestaurantRepository;
+import com.ski.eduka.edukaApplication;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the batched menu resolution of {@link OrderService#createOrder} with the
+ * previous one-findById-per-item loop, for growing order sizes.
+ *
+ * Run with: mvn test -Dtest=OrderCreationBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest(classes = edukaApplication.class, properties = {
+    "spring.datasource.url=jdbc:h2:mem:order_benchmark;DB_CLOSE_DELAY=-1",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false",
+    "spring.sql.init.mode=never",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "eureka.client.enabled=false",
+    "outbox.relay.enabled=false"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class OrderCreationBenchmarkTest {
+
+    private static final int[] ITEM_COUNTS = {1, 5, 10, 25, 50};
+    private static final int WARMUP_RUNS = 50;
+    private static final int MEASURED_RUNS = 300;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private NotificationServiceClient notificationServiceClient;
+
+    @MockBean
+    private UserClient userClient;
+
+    private Restaurant restaurant;
+    private List<Long> menuItemIds;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        menuItemRepository.deleteAll();
+        restaurantRepository.deleteAll();
+
+        restaurant = new Restaurant();
+        restaurant.setName("Benchmark Cafeteria");
+        restaurant = restaurantRepository.save(restaurant);
+
+        menuItemIds = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            MenuItem item = new MenuItem();
+            item.setName("Item " + i);
+            item.setPrice(2.5 + i);
+            item.setRestaurant(restaurant);
+            menuItemIds.add(menuItemRepository.save(item).getId());
+        }
+    }
+
+    @Test
+    void compareQueryCountAndLatency() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (int itemCount : ITEM_COUNTS) {
+            List<Long> ids = menuItemIds.subList(0, itemCount);
+
+            Result legacy = measure(statistics, () -> createOrderPerItem(ids));
+            Result batched = measure(statistics, () -> orderService.createOrder(newOrder(), restaurant.getId(), ids));
+
+            log.info("📊 {} item(s): per-item {} queries, p99 {} ms | batched {} queries, p99 {} ms",
+                itemCount, legacy.queries, String.format("%.3f", legacy.p99Millis),
+                batched.queries, String.format("%.3f", batched.p99Millis));
+
+            // restaurant lookup + one IN query + order insert + outbox insert + one insert per order line
+            assertTrue(batched.queries <= 4 + itemCount,
+                "Batched path issued " + batched.queries + " statements for " + itemCount + " items");
+        }
+    }
+
+    /**
+     * Reproduces the previous createOrder resolution: one findById per requested item.
+     */
+    private Order createOrderPerItem(List<Long> ids) {
+        return transactionTemplate.execute(status -> {
+            Order order = newOrder();
+            order.setRestaurant(restaurantRepository.findById(restaurant.getId()).orElseThrow());
+            for (Long id : ids) {
+                order.addItem(menuItemRepository.findById(id).orElseThrow());
+            }
+            order.calculateTotal();
+            return orderRepository.save(order);
+        });
+    }
+
+    private Order newOrder() {
+        Order order = new Order();
+        order.setUserId("benchmark-user");
+        return order;
+    }
+
+    private Result measure(Statistics statistics, Supplier<Order> action) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            action.get();
+        }
+
+        long[] latencies = new long[MEASURED_RUNS];
+        statistics.clear();
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            action.get();
+            latencies[i] = System.nanoTime() - start;
+        }
+        long queriesPerOrder = statistics.getPrepareStatementCount() / MEASURED_RUNS;
+
+        Arrays.sort(latencies);
+        int p99Index = (int) Math.ceil(0.99 * MEASURED_RUNS) - 1;
+        return new Result(queriesPerOrder, latencies[p99Index] / 1_000_000.0);
+    }
+
+    private record Result(long queries, double p99Millis) {
+    }
+}
@@ -0,0 +1,111 @@
+package com.eduka.restaurant.service;
+
+import com.eduka.restaurant.client.NotificationServiceClient;
+import com.eduka.restaurant.client.UserClient;
+import com.eduka.restaurant.model.MenuItem;
+import com.eduka.restaurant.model.Order;
+import com.eduka.restaurant.model.OrderLine;
+import com.eduka.restaurant.model.OrderStatus;
+import com.eduka.restaurant.model.Restaurant;
+import com.eduka.restaurant.repository.MenuItemRepository;
+import com.eduka.restaurant.repository.OrderRepository;
+import com.eduka.restaurant.repository.RestaurantRepository;
+import com.ski.eduka.edukaApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest(classes = edukaApplication.class, properties = {
+    "spring.datasource.url=jdbc:h2:mem:order_line_migration;DB_CLOSE_DELAY=-1",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false",
+    "spring.sql.init.mode=never",
+    "eureka.client.enabled=false",
+    "outbox.relay.enabled=false"
+})
+class OrderLineMigrationTest {
+
+    @Autowired
+    private OrderLineMigration migration;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private NotificationServiceClient notificationServiceClient;
+
+    @MockBean
+    private UserClient userClient;
+
+    @Test
+    void legacyJoinRowsBecomeLinesWithSequenceIds() {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setName("Legacy Cafeteria");
+        restaurant = restaurantRepository.save(restaurant);
+        MenuItem coffee = menuItem(restaurant, "Coffee", 1.5);
+        MenuItem soup = menuItem(restaurant, "Soup", 4.0);
+
+        Order order = new Order();
+        order.setUserId("student");
+        order.setRestaurant(restaurant);
+        order.setStatus(OrderStatus.PENDING);
+        order.setTotalAmount(6.5);
+        Long orderId = orderRepository.save(order).getId();
+
+        jdbcTemplate.execute("CREATE TABLE order_menu_items (order_id BIGINT NOT NULL, menu_item_id BIGINT NOT NULL)");
+        jdbcTemplate.update("INSERT INTO order_menu_items VALUES (?, ?), (?, ?), (?, ?)",
+            orderId, coffee.getId(), orderId, coffee.getId(), orderId, soup.getId());
+
+        migration.run(null);
+
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_menu_items", Long.class));
+        Long coffeeId = coffee.getId();
+        transactionTemplate.executeWithoutResult(status -> {
+            Order migrated = orderRepository.findByIdWithItems(orderId);
+            Map<String, Integer> quantities = migrated.getItems().stream()
+                .collect(Collectors.toMap(OrderLine::getName, OrderLine::getQuantity));
+            assertEquals(Map.of("Coffee", 2, "Soup", 1), quantities);
+            migrated.getItems().forEach(line -> assertNotNull(line.getId()));
+
+            // Hibernate keeps allocating from the same sequence without colliding with backfilled ids
+            MenuItem tea = menuItem(migrated.getRestaurant(), "Tea", 1.0);
+            migrated.addItem(tea);
+            orderRepository.saveAndFlush(migrated);
+        });
+
+        assertEquals(3L, jdbcTemplate.queryForObject(
+            "SELECT COUNT(DISTINCT id) FROM order_lines WHERE order_id = ?", Long.class, orderId));
+        assertEquals(coffeeId, jdbcTemplate.queryForObject(
+            "SELECT menu_item_id FROM order_lines WHERE order_id = ? AND quantity = 2", Long.class, orderId));
+        jdbcTemplate.execute("DROP TABLE order_menu_items");
+    }
+
+    private MenuItem menuItem(Restaurant restaurant, String name, double price) {
+        MenuItem item = new MenuItem();
+        item.setName(name);
+        item.setPrice(price);
+        item.setRestaurant(restaurant);
+        return menuItemRepository.save(item);
+    }
+}
@@ -0,0 +1,82 @@
+package com.ski.eduka.config;
+
+import com.eduka.restaurant.client.NotificationServiceClient;
+import com.eduka.restaurant.client.UserClient;
+import com.eduka.restaurant.model.MenuItem;
+import com.eduka.restaurant.model.Restaurant;
+import com.eduka.restaurant.repository.MenuItemRepository;
+import com.eduka.restaurant.repository.RestaurantRepository;
+import com.ski.eduka.edukaApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = edukaApplication.class, properties = {
+    "spring.datasource.url=jdbc:h2:mem:synthetic_seed;DB_CLOSE_DELAY=-1",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false",
+    "spring.sql.init.mode=never",
+    "eureka.client.enabled=false",
+    "outbox.relay.enabled=false",
+    "orders.archive.enabled=false",
+    "seed.synthetic.enabled=true",
+    "seed.synthetic.restaurants=5",
+    "seed.synthetic.menu-items-per-restaurant=4",
+    "seed.synthetic.orders=300",
+    "seed.synthetic.batch-size=64"
+})
+class SyntheticDataGeneratorTest {
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private NotificationServiceClient notificationServiceClient;
+
+    @MockBean
+    private UserClient userClient;
+
+    @Test
+    void seedsAnEmptyDatabaseAtStartupAndLeavesSequencesUsable() {
+        assertEquals(5L, count("SELECT COUNT(*) FROM restaurants"));
+        assertEquals(20L, count("SELECT COUNT(*) FROM menu_items"));
+        assertEquals(300L, count("SELECT COUNT(*) FROM orders"));
+        assertTrue(count("SELECT COUNT(*) FROM order_lines") >= 300L);
+        assertEquals(0L, count("SELECT COUNT(*) FROM orders o WHERE o.total_amount <> "
+            + "(SELECT ROUND(SUM(l.unit_price * l.quantity), 2) FROM order_lines l WHERE l.order_id = o.id)"));
+
+        // Ids were written by hand; JPA must allocate past them
+        Restaurant restaurant = new Restaurant();
+        restaurant.setName("After Seeding");
+        restaurant = restaurantRepository.save(restaurant);
+        assertTrue(restaurant.getId() > 5L);
+        MenuItem item = new MenuItem();
+        item.setName("Tea");
+        item.setPrice(1.0);
+        item.setRestaurant(restaurant);
+        assertTrue(menuItemRepository.save(item).getId() > 20L);
+
+        // A second run finds restaurants and leaves the data alone
+        generator.run();
+        assertEquals(6L, count("SELECT COUNT(*) FROM restaurants"));
+        assertEquals(300L, count("SELECT COUNT(*) FROM orders"));
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}